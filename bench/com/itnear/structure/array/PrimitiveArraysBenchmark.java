@@ -0,0 +1,193 @@
+package com.itnear.structure.array;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 描述：PrimitiveArrays各实现的JMH基准。loop为直接写出的带分支/带依赖链的标量循环，
+ * scalar为ScalarKernels，vector为VectorKernels。编译与运行方法见README
+ * 作者：NearJC
+ * 时间：2020/02/19
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class PrimitiveArraysBenchmark {
+
+    @Param({"1024", "1048576"})
+    private int n;
+
+    private int[] ints;
+
+    private long[] longs;
+
+    private double[] doubles;
+
+    private final ArrayKernels scalar = new ScalarKernels();
+
+    private final ArrayKernels vector = new VectorKernels();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        ints = new int[n];
+        longs = new long[n];
+        doubles = new double[n];
+        for (int i = 0; i < n; i++) {
+            ints[i] = random.nextInt(1000);
+            longs[i] = ints[i];
+            doubles[i] = ints[i];
+        }
+    }
+
+    @Benchmark
+    public int intCountInRangeLoop() {
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (ints[i] >= 100 && ints[i] < 600) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int intCountInRangeScalar() {
+        return scalar.countInRange(ints, 0, n, 100, 600);
+    }
+
+    @Benchmark
+    public int intCountInRangeVector() {
+        return vector.countInRange(ints, 0, n, 100, 600);
+    }
+
+    @Benchmark
+    public long intSumLoop() {
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += ints[i];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long intSumVector() {
+        return vector.sum(ints, 0, n);
+    }
+
+    @Benchmark
+    public int intMinLoop() {
+        return scalar.min(ints, 0, n);
+    }
+
+    @Benchmark
+    public int intMinVector() {
+        return vector.min(ints, 0, n);
+    }
+
+    @Benchmark
+    public int intIndexOfMissLoop() {
+        return scalar.indexOf(ints, 0, n, -1);
+    }
+
+    @Benchmark
+    public int intIndexOfMissVector() {
+        return vector.indexOf(ints, 0, n, -1);
+    }
+
+    @Benchmark
+    public long longSumLoop() {
+        return scalar.sum(longs, 0, n);
+    }
+
+    @Benchmark
+    public long longSumVector() {
+        return vector.sum(longs, 0, n);
+    }
+
+    @Benchmark
+    public int longCountInRangeLoop() {
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (longs[i] >= 100 && longs[i] < 600) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int longCountInRangeScalar() {
+        return scalar.countInRange(longs, 0, n, 100, 600);
+    }
+
+    @Benchmark
+    public int longCountInRangeVector() {
+        return vector.countInRange(longs, 0, n, 100, 600);
+    }
+
+    @Benchmark
+    public double doubleSumLoop() {
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += doubles[i];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double doubleSumScalar() {
+        return scalar.sum(doubles, 0, n);
+    }
+
+    @Benchmark
+    public double doubleSumVector() {
+        return vector.sum(doubles, 0, n);
+    }
+
+    @Benchmark
+    public double doubleMaxLoop() {
+        return scalar.max(doubles, 0, n);
+    }
+
+    @Benchmark
+    public double doubleMaxVector() {
+        return vector.max(doubles, 0, n);
+    }
+
+    @Benchmark
+    public int doubleCountInRangeLoop() {
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (doubles[i] >= 100 && doubles[i] < 600) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int doubleCountInRangeScalar() {
+        return scalar.countInRange(doubles, 0, n, 100, 600);
+    }
+
+    @Benchmark
+    public int doubleCountInRangeVector() {
+        return vector.countInRange(doubles, 0, n, 100, 600);
+    }
+}
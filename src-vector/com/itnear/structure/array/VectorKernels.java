@@ -0,0 +1,299 @@
+package com.itnear.structure.array;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 描述：ArrayKernels的jdk.incubator.vector实现，使用当前CPU的首选向量宽度（x86上为AVX2/AVX-512，ARM上为NEON/SVE），
+ * 整段向量处理后余下不足一个向量的元素用标量循环处理。
+ * 依赖孵化模块，需单独编译：javac --add-modules jdk.incubator.vector -cp out -d out src-vector/com/itnear/structure/array/VectorKernels.java，
+ * 运行时同样要加--add-modules jdk.incubator.vector，否则PrimitiveArrays退回ScalarKernels
+ * 作者：NearJC
+ * 时间：2020/02/19
+ */
+final class VectorKernels implements ArrayKernels {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * int求和时每个分块的向量个数，分块内各通道的高低16位之和都不会溢出int
+     */
+    private static final int SUM_BLOCK = 1024;
+
+    @Override
+    public int indexOf(int[] a, int from, int to, int e) {
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            VectorMask<Integer> mask = IntVector.fromArray(INTS, a, i).eq(e);
+            if (mask.anyTrue()) {
+                return i + mask.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] == e) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 每个元素拆成无符号的低16位与有符号的高16位分别在int通道中累加，每个分块结束后合并到long，
+     * 避免逐个元素转成long
+     */
+    @Override
+    public long sum(int[] a, int from, int to) {
+        long sum = 0;
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        while (i < bound) {
+            int blockEnd = Math.min(bound, i + SUM_BLOCK * INTS.length());
+            IntVector low = IntVector.zero(INTS), high = IntVector.zero(INTS);
+            for (; i < blockEnd; i += INTS.length()) {
+                IntVector v = IntVector.fromArray(INTS, a, i);
+                low = low.add(v.lanewise(VectorOperators.AND, 0xFFFF));
+                high = high.add(v.lanewise(VectorOperators.ASHR, 16));
+            }
+            sum += ((long) high.reduceLanes(VectorOperators.ADD) << 16) + low.reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int min(int[] a, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.min(IntVector.fromArray(INTS, a, i));
+        }
+        int min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public int max(int[] a, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.max(IntVector.fromArray(INTS, a, i));
+        }
+        int max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    /**
+     * 与标量版本相同的无符号区间比较，每个向量只需一次加法和一次比较
+     */
+    @Override
+    public int countInRange(int[] a, int from, int to, int lo, int hi) {
+        if (lo >= hi) {
+            return 0;
+        }
+
+        int shift = Integer.MIN_VALUE - lo;
+        int width = hi - lo + Integer.MIN_VALUE;
+        int count = 0;
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            count += IntVector.fromArray(INTS, a, i).add(shift).lt(width).trueCount();
+        }
+        for (; i < to; i++) {
+            count += a[i] + shift < width ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public int indexOf(long[] a, int from, int to, long e) {
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            VectorMask<Long> mask = LongVector.fromArray(LONGS, a, i).eq(e);
+            if (mask.anyTrue()) {
+                return i + mask.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] == e) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public long sum(long[] a, int from, int to) {
+        LongVector acc = LongVector.zero(LONGS);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.add(LongVector.fromArray(LONGS, a, i));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long min(long[] a, int from, int to) {
+        LongVector acc = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.min(LongVector.fromArray(LONGS, a, i));
+        }
+        long min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public long max(long[] a, int from, int to) {
+        LongVector acc = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.max(LongVector.fromArray(LONGS, a, i));
+        }
+        long max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public int countInRange(long[] a, int from, int to, long lo, long hi) {
+        if (lo >= hi) {
+            return 0;
+        }
+
+        long shift = Long.MIN_VALUE - lo;
+        long width = hi - lo + Long.MIN_VALUE;
+        int count = 0;
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            count += LongVector.fromArray(LONGS, a, i).add(shift).lt(width).trueCount();
+        }
+        for (; i < to; i++) {
+            count += a[i] + shift < width ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * 查找非NaN时直接比较原始位模式，与doubleToLongBits比较等价；查找NaN时匹配任意NaN
+     */
+    @Override
+    public int indexOf(double[] a, int from, int to, double e) {
+        int i = from;
+        int bound = from + DOUBLES.loopBound(to - from);
+        if (Double.isNaN(e)) {
+            for (; i < bound; i += DOUBLES.length()) {
+                VectorMask<Double> mask = DoubleVector.fromArray(DOUBLES, a, i).test(VectorOperators.IS_NAN);
+                if (mask.anyTrue()) {
+                    return i + mask.firstTrue();
+                }
+            }
+        } else {
+            long bits = Double.doubleToRawLongBits(e);
+            for (; i < bound; i += DOUBLES.length()) {
+                VectorMask<Long> mask = DoubleVector.fromArray(DOUBLES, a, i).reinterpretAsLongs().eq(bits);
+                if (mask.anyTrue()) {
+                    return i + mask.firstTrue();
+                }
+            }
+        }
+
+        long bits = Double.doubleToLongBits(e);
+        for (; i < to; i++) {
+            if (Double.doubleToLongBits(a[i]) == bits) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public double sum(double[] a, int from, int to) {
+        DoubleVector acc = DoubleVector.zero(DOUBLES);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            acc = acc.add(DoubleVector.fromArray(DOUBLES, a, i));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    /**
+     * 按通道做与标量版本相同的小于比较再选择，NaN比较结果为false不会进入累加器；
+     * VectorOperators.MIN遇到NaN会返回NaN，不能直接使用
+     */
+    @Override
+    public double min(double[] a, int from, int to) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            DoubleVector v = DoubleVector.fromArray(DOUBLES, a, i);
+            acc = acc.blend(v, v.lt(acc));
+        }
+        double min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            }
+        }
+        return min;
+    }
+
+    @Override
+    public double max(double[] a, int from, int to) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            DoubleVector v = DoubleVector.fromArray(DOUBLES, a, i);
+            acc = acc.blend(v, v.compare(VectorOperators.GT, acc));
+        }
+        double max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            if (a[i] > max) {
+                max = a[i];
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public int countInRange(double[] a, int from, int to, double lo, double hi) {
+        int count = 0;
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            DoubleVector v = DoubleVector.fromArray(DOUBLES, a, i);
+            count += v.compare(VectorOperators.GE, lo).and(v.lt(hi)).trueCount();
+        }
+        for (; i < to; i++) {
+            count += a[i] >= lo & a[i] < hi ? 1 : 0;
+        }
+        return count;
+    }
+}
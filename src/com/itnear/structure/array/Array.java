@@ -1,11 +1,22 @@
 package com.itnear.structure.array;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * 描述：数组
  * 作者：NearJC
  * 时间：2020/02/05
  */
-public class Array<E> {
+public class Array<E> implements Iterable<E> {
 
     /**
      * 存储元素
@@ -28,9 +39,7 @@ public class Array<E> {
 
     public Array(E[] arr) {
         data = (E[]) new Object[arr.length];
-        for (int i = 0; i < arr.length; i++) {
-            data[i] = arr[i];
-        }
+        System.arraycopy(arr, 0, data, 0, arr.length);
         size = arr.length;
     }
 
@@ -78,9 +87,7 @@ public class Array<E> {
         }
 
         // 添加元素
-        for (int i = size - 1; i >= index; i--) {
-            data[i + 1] = data[i];
-        }
+        System.arraycopy(data, index, data, index + 1, size - index);
         data[index] = e;
         size++;
     }
@@ -103,6 +110,80 @@ public class Array<E> {
         add(size, e);
     }
 
+    /**
+     * 在索引处批量添加元素，后续元素只整体后移一次
+     *
+     * @param index 索引
+     * @param arr   元素
+     */
+    public void addAll(int index, E[] arr) {
+        insertRange(index, arr, 0, arr.length);
+    }
+
+    /**
+     * 在索引处批量添加另一个数组的全部元素
+     *
+     * @param index 索引
+     * @param array 数组
+     */
+    public void addAll(int index, Array<? extends E> array) {
+        insertRange(index, array.data, 0, array.size);
+    }
+
+    /**
+     * 尾部批量添加元素
+     *
+     * @param arr 元素
+     */
+    public void addAll(E[] arr) {
+        addAll(size, arr);
+    }
+
+    /**
+     * 在索引处插入src[srcPos, srcPos + length)
+     *
+     * @param index  索引
+     * @param src    源数组
+     * @param srcPos 源数组起始位置
+     * @param length 个数
+     */
+    private void insertRange(int index, Object[] src, int srcPos, int length) {
+        if (index < 0 || index > size) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        // 扩容
+        if (size + length > data.length) {
+            resize(Math.max(size + length, data.length * 2));
+        }
+
+        // src可能就是data本身，先后移再复制时需要修正源位置
+        System.arraycopy(data, index, data, index + length, size - index);
+        if (src == data && srcPos + length > index) {
+            if (srcPos >= index) {
+                System.arraycopy(data, srcPos + length, data, index, length);
+            } else {
+                int before = index - srcPos;
+                System.arraycopy(data, srcPos, data, index, before);
+                System.arraycopy(data, index + length, data, index + before, length - before);
+            }
+        } else {
+            System.arraycopy(src, srcPos, data, index, length);
+        }
+        size += length;
+    }
+
+    /**
+     * 确保容量不小于minCapacity，批量添加前调用可避免多次扩容
+     *
+     * @param minCapacity 最小容量
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            resize(Math.max(minCapacity, data.length * 2));
+        }
+    }
+
     /**
      * 根据索引删除元素
      *
@@ -116,10 +197,9 @@ public class Array<E> {
 
         // 删除元素
         E ret = data[index];
-        for (int i = index + 1; i < size; i++) {
-            data[i - 1] = data[i];
-        }
+        System.arraycopy(data, index + 1, data, index, size - index - 1);
         size--;
+        data[size] = null;
 
         // 缩容
         if (size == data.length / 4 && data.length / 2 != 0) {
@@ -129,6 +209,49 @@ public class Array<E> {
         return ret;
     }
 
+    /**
+     * 删除[from, to)范围内的元素，后续元素只整体前移一次
+     *
+     * @param from 起始索引（包含）
+     * @param to   结束索引（不包含）
+     */
+    public void removeRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        System.arraycopy(data, to, data, from, size - to);
+        int newSize = size - (to - from);
+        for (int i = newSize; i < size; i++) {
+            data[i] = null;
+        }
+        size = newSize;
+        shrink();
+    }
+
+    /**
+     * 删除所有满足条件的元素，一次遍历完成压缩
+     *
+     * @param filter 条件
+     * @return 删除的元素个数
+     */
+    public int removeIf(Predicate<? super E> filter) {
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            if (!filter.test(data[i])) {
+                data[j++] = data[i];
+            }
+        }
+
+        int removed = size - j;
+        for (int i = j; i < size; i++) {
+            data[i] = null;
+        }
+        size = j;
+        shrink();
+        return removed;
+    }
+
     /**
      * 删除首元素
      *
@@ -154,7 +277,7 @@ public class Array<E> {
      * @return 元素
      */
     public E get(int index) {
-        if (index < 0 || index > size) {
+        if (index < 0 || index >= size) {
             throw new IllegalArgumentException("数组下标越界");
         }
 
@@ -225,6 +348,159 @@ public class Array<E> {
         data[j] = temp;
     }
 
+    /**
+     * 排序，稳定
+     *
+     * @param c 比较器，为null时按自然顺序
+     */
+    public void sort(Comparator<? super E> c) {
+        Arrays.sort(data, 0, size, comparator(c));
+    }
+
+    /**
+     * 并行归并排序，稳定，使用公共ForkJoinPool
+     *
+     * @param c 比较器，为null时按自然顺序
+     */
+    public void parallelSort(Comparator<? super E> c) {
+        parallelSort(c, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在指定的ForkJoinPool中并行归并排序，稳定
+     *
+     * @param c    比较器，为null时按自然顺序
+     * @param pool 线程池
+     */
+    public void parallelSort(Comparator<? super E> c, ForkJoinPool pool) {
+        E[] aux = (E[]) new Object[size];
+        pool.invoke(new ParallelMergeSort<>(data, aux, 0, size, comparator(c)));
+    }
+
+    /**
+     * 在按c排好序的数组中二分查找元素
+     *
+     * @param key 元素
+     * @param c   比较器，为null时按自然顺序
+     * @return 索引，不存在时返回-(插入位置)-1
+     */
+    public int binarySearch(E key, Comparator<? super E> c) {
+        return Arrays.binarySearch(data, 0, size, key, comparator(c));
+    }
+
+    /**
+     * 比较器为null时使用自然顺序
+     *
+     * @param c 比较器
+     * @return 比较器
+     */
+    private static <E> Comparator<? super E> comparator(Comparator<? super E> c) {
+        return c != null ? c : (Comparator<? super E>) Comparator.naturalOrder();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public E next() {
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                return data[cursor++];
+            }
+        };
+    }
+
+    /**
+     * 按索引二分的Spliterator，每次切分的两半大小都是精确的
+     *
+     * @return Spliterator
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new ArraySpliterator<>(data, 0, size);
+    }
+
+    /**
+     * 顺序流
+     *
+     * @return 流
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * 并行流
+     *
+     * @return 流
+     */
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * 遍历[index, fence)的Spliterator
+     */
+    private static class ArraySpliterator<E> implements Spliterator<E> {
+
+        private final E[] data;
+        private int index;
+        private final int fence;
+
+        ArraySpliterator(E[] data, int index, int fence) {
+            this.data = data;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (index < fence) {
+                action.accept(data[index++]);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            for (int i = index; i < fence; i++) {
+                action.accept(data[i]);
+            }
+            index = fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            ArraySpliterator<E> prefix = new ArraySpliterator<>(data, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
     /**
      * 扩容/缩容数组容量
      *
@@ -232,12 +508,23 @@ public class Array<E> {
      */
     private void resize(int newCapacity) {
         E[] newData = (E[]) new Object[newCapacity];
-        for (int i = 0; i < size; i++) {
-            newData[i] = data[i];
-        }
+        System.arraycopy(data, 0, newData, 0, size);
         data = newData;
     }
 
+    /**
+     * 批量删除后缩容，与单个删除一样在元素个数降到容量的1/4时减半，可能连续减半多次
+     */
+    private void shrink() {
+        int newCapacity = data.length;
+        while (size <= newCapacity / 4 && newCapacity / 2 != 0) {
+            newCapacity /= 2;
+        }
+        if (newCapacity != data.length) {
+            resize(newCapacity);
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder res = new StringBuilder();
@@ -278,5 +565,18 @@ public class Array<E> {
         // 查看元素是否存在
         boolean contains = array.contains(100);
         System.out.println("元素是否在数组内：" + contains);
+
+        // 批量添加、删除
+        array.addAll(1, new Integer[]{1, 2, 3});
+        System.out.println(array.toString());
+        array.removeRange(1, 3);
+        System.out.println("删除的元素个数：" + array.removeIf(e -> e >= 30));
+        System.out.println(array.toString());
+
+        // 排序与查找
+        array.sort(null);
+        System.out.println(array.toString());
+        System.out.println("元素20的索引：" + array.binarySearch(20, null));
+        System.out.println("元素之和：" + array.stream().mapToInt(Integer::intValue).sum());
     }
 }
@@ -0,0 +1,40 @@
+package com.itnear.structure.array;
+
+/**
+ * 描述：基本类型数组区间[from, to)上可以向量化的查找与归约，语义见PrimitiveArrays中的同名方法。
+ * ScalarKernels为标量实现；VectorKernels为jdk.incubator.vector实现，单独编译，运行时存在时由PrimitiveArrays加载
+ * 作者：NearJC
+ * 时间：2020/02/19
+ */
+interface ArrayKernels {
+
+    int indexOf(int[] a, int from, int to, int e);
+
+    long sum(int[] a, int from, int to);
+
+    int min(int[] a, int from, int to);
+
+    int max(int[] a, int from, int to);
+
+    int countInRange(int[] a, int from, int to, int lo, int hi);
+
+    int indexOf(long[] a, int from, int to, long e);
+
+    long sum(long[] a, int from, int to);
+
+    long min(long[] a, int from, int to);
+
+    long max(long[] a, int from, int to);
+
+    int countInRange(long[] a, int from, int to, long lo, long hi);
+
+    int indexOf(double[] a, int from, int to, double e);
+
+    double sum(double[] a, int from, int to);
+
+    double min(double[] a, int from, int to);
+
+    double max(double[] a, int from, int to);
+
+    int countInRange(double[] a, int from, int to, double lo, double hi);
+}
@@ -0,0 +1,391 @@
+package com.itnear.structure.array;
+
+import com.itnear.util.MemoryStats;
+
+import java.util.Arrays;
+import java.util.function.DoublePredicate;
+
+/**
+ * 描述：数组 - double特化版本，元素直接存放在double[]中，没有装箱对象和引用的开销
+ * 作者：NearJC
+ * 时间：2020/02/18
+ */
+public class DoubleArray {
+
+    /**
+     * 存储元素
+     */
+    private double[] data;
+
+    /**
+     * 元素个数
+     */
+    private int size;
+
+    public DoubleArray(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("容量不能小于0");
+        }
+        this.data = new double[capacity];
+        this.size = 0;
+    }
+
+    public DoubleArray() {
+        this(10);
+    }
+
+    public DoubleArray(double[] arr) {
+        data = Arrays.copyOf(arr, arr.length);
+        size = arr.length;
+    }
+
+    /**
+     * 获取数组元素个数
+     *
+     * @return 元素个数
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 获取数组容量大小
+     *
+     * @return 容量大小
+     */
+    public int getCapacity() {
+        return data.length;
+    }
+
+    /**
+     * 判断数组是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 根据索引添加元素
+     *
+     * @param index 索引
+     * @param e     元素
+     */
+    public void add(int index, double e) {
+        if (index < 0 || index > size) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        // 扩容
+        if (size == data.length) {
+            resize(Math.max(1, data.length * 2));
+        }
+
+        // 添加元素
+        System.arraycopy(data, index, data, index + 1, size - index);
+        data[index] = e;
+        size++;
+    }
+
+    /**
+     * 头部添加元素
+     *
+     * @param e 元素
+     */
+    public void addFirst(double e) {
+        add(0, e);
+    }
+
+    /**
+     * 尾部添加元素
+     *
+     * @param e 元素
+     */
+    public void addLast(double e) {
+        if (size == data.length) {
+            resize(Math.max(1, data.length * 2));
+        }
+        data[size++] = e;
+    }
+
+    /**
+     * 尾部批量添加元素，最多扩容一次
+     *
+     * @param arr 元素
+     */
+    public void addAll(double[] arr) {
+        if (size + arr.length > data.length) {
+            resize(Math.max(size + arr.length, data.length * 2));
+        }
+        System.arraycopy(arr, 0, data, size, arr.length);
+        size += arr.length;
+    }
+
+    /**
+     * 根据索引删除元素
+     *
+     * @param index 索引
+     * @return 删除元素
+     */
+    public double remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        // 删除元素
+        double ret = data[index];
+        System.arraycopy(data, index + 1, data, index, size - index - 1);
+        size--;
+
+        // 缩容
+        if (size == data.length / 4 && data.length / 2 != 0) {
+            resize(data.length / 2);
+        }
+
+        return ret;
+    }
+
+    /**
+     * 删除首元素
+     *
+     * @return 首元素
+     */
+    public double removeFirst() {
+        return remove(0);
+    }
+
+    /**
+     * 删除尾部元素
+     *
+     * @return 尾部元素
+     */
+    public double removeLast() {
+        return remove(size - 1);
+    }
+
+    /**
+     * 根据索引获取元素
+     *
+     * @param index 索引
+     * @return 元素
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        return data[index];
+    }
+
+    /**
+     * 根据索引获取元素，不检查index是否小于size，由调用方保证索引合法，用于热点循环
+     *
+     * @param index 索引
+     * @return 元素
+     */
+    public double getUnchecked(int index) {
+        return data[index];
+    }
+
+    /**
+     * 获取首元素
+     *
+     * @return 首元素
+     */
+    public double getFirst() {
+        return get(0);
+    }
+
+    /**
+     * 获取尾部元素
+     *
+     * @return 尾部元素
+     */
+    public double getLast() {
+        return get(size - 1);
+    }
+
+    /**
+     * 判断元素是否存在在数组中
+     *
+     * @param e 元素
+     * @return 存在返回true，否则返回false
+     */
+    public boolean contains(double e) {
+        return indexOf(e) >= 0;
+    }
+
+    /**
+     * 查找元素第一次出现的索引
+     *
+     * @param e 元素
+     * @return 索引，不存在返回-1
+     */
+    public int indexOf(double e) {
+        return PrimitiveArrays.indexOf(data, 0, size, e);
+    }
+
+    /**
+     * 求和
+     *
+     * @return 和
+     */
+    public double sum() {
+        return PrimitiveArrays.sum(data, 0, size);
+    }
+
+    /**
+     * 最小值
+     *
+     * @return 最小值
+     */
+    public double min() {
+        if (size == 0) {
+            throw new IllegalArgumentException("数组为空");
+        }
+        return PrimitiveArrays.min(data, 0, size);
+    }
+
+    /**
+     * 最大值
+     *
+     * @return 最大值
+     */
+    public double max() {
+        if (size == 0) {
+            throw new IllegalArgumentException("数组为空");
+        }
+        return PrimitiveArrays.max(data, 0, size);
+    }
+
+    /**
+     * 统计落在[lo, hi)内的元素个数
+     *
+     * @param lo 下界（包含）
+     * @param hi 上界（不包含）
+     * @return 个数
+     */
+    public int countInRange(double lo, double hi) {
+        return PrimitiveArrays.countInRange(data, 0, size, lo, hi);
+    }
+
+    /**
+     * 统计满足条件的元素个数
+     *
+     * @param predicate 条件
+     * @return 个数
+     */
+    public int count(DoublePredicate predicate) {
+        return PrimitiveArrays.count(data, 0, size, predicate);
+    }
+
+    /**
+     * 根据索引修改元素
+     *
+     * @param index 索引
+     * @param e     元素
+     */
+    public void set(int index, double e) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        data[index] = e;
+    }
+
+    /**
+     * 根据索引修改元素，不检查index是否小于size，由调用方保证索引合法，用于热点循环
+     *
+     * @param index 索引
+     * @param e     元素
+     */
+    public void setUnchecked(int index, double e) {
+        data[index] = e;
+    }
+
+    /**
+     * 根据索引交换元素
+     *
+     * @param i 索引
+     * @param j 索引
+     */
+    public void swap(int i, int j) {
+        if (i < 0 || i >= size || j < 0 || j >= size) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        double temp = data[i];
+        data[i] = data[j];
+        data[j] = temp;
+    }
+
+    /**
+     * 复制出元素
+     *
+     * @return 长度为size的新数组
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /**
+     * 扩容/缩容数组容量
+     *
+     * @param newCapacity 新容量大小
+     */
+    private void resize(int newCapacity) {
+        data = Arrays.copyOf(data, newCapacity);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append(String.format("数组容量：%d  数组元素个数：%d\n[", data.length, size));
+        for (int i = 0; i < size; i++) {
+            res.append(data[i]).append(",");
+        }
+        return res.replace(res.length() - 1, res.length(), "]").toString();
+    }
+
+    public static void main(String[] args) {
+        int n = 10000000;
+
+        long before = MemoryStats.usedMemory();
+        long startTime = System.nanoTime();
+        Array<Double> array = new Array<>();
+        for (int i = 0; i < n; i++) {
+            array.addLast((double) i);
+        }
+        double addTime = (System.nanoTime() - startTime) / 1000000000.0;
+        long memory = MemoryStats.usedMemory() - before;
+
+        startTime = System.nanoTime();
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += array.get(i);
+        }
+        double scanTime = (System.nanoTime() - startTime) / 1000000000.0;
+        System.out.println(String.format("Array<Double> : add %.3f s, scan %.3f s, %.1f bytes/element, sum %.0f",
+                addTime, scanTime, (double) memory / n, sum));
+        array = null;
+
+        before = MemoryStats.usedMemory();
+        startTime = System.nanoTime();
+        DoubleArray doubleArray = new DoubleArray();
+        for (int i = 0; i < n; i++) {
+            doubleArray.addLast(i);
+        }
+        addTime = (System.nanoTime() - startTime) / 1000000000.0;
+        memory = MemoryStats.usedMemory() - before;
+
+        startTime = System.nanoTime();
+        sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += doubleArray.getUnchecked(i);
+        }
+        scanTime = (System.nanoTime() - startTime) / 1000000000.0;
+        System.out.println(String.format("DoubleArray   : add %.3f s, scan %.3f s, %.1f bytes/element, sum %.0f",
+                addTime, scanTime, (double) memory / n, sum));
+    }
+}
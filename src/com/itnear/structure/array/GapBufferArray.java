@@ -0,0 +1,343 @@
+package com.itnear.structure.array;
+
+import java.util.Random;
+
+/**
+ * 描述：数组 - 间隙缓冲版本，空闲空间作为一段间隙放在最近一次修改的位置，
+ * 增删时只把间隙移动到目标位置，在同一位置附近连续增删时几乎不需要移动元素
+ * 作者：NearJC
+ * 时间：2020/02/18
+ */
+public class GapBufferArray<E> {
+
+    /**
+     * 存储元素，[gapStart, gapEnd)为间隙
+     */
+    private E[] data;
+
+    /**
+     * 间隙起始位置（包含）
+     */
+    private int gapStart;
+
+    /**
+     * 间隙结束位置（不包含）
+     */
+    private int gapEnd;
+
+    public GapBufferArray(int capacity) {
+        this.data = (E[]) new Object[capacity];
+        this.gapStart = 0;
+        this.gapEnd = capacity;
+    }
+
+    public GapBufferArray() {
+        this(10);
+    }
+
+    /**
+     * 获取数组元素个数
+     *
+     * @return 元素个数
+     */
+    public int getSize() {
+        return data.length - (gapEnd - gapStart);
+    }
+
+    /**
+     * 获取数组容量大小
+     *
+     * @return 容量大小
+     */
+    public int getCapacity() {
+        return data.length;
+    }
+
+    /**
+     * 判断数组是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * 根据索引添加元素
+     *
+     * @param index 索引
+     * @param e     元素
+     */
+    public void add(int index, E e) {
+        if (index < 0 || index > getSize()) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        // 扩容
+        if (gapStart == gapEnd) {
+            resize(Math.max(1, data.length * 2));
+        }
+
+        moveGap(index);
+        data[gapStart++] = e;
+    }
+
+    /**
+     * 头部添加元素
+     *
+     * @param e 元素
+     */
+    public void addFirst(E e) {
+        add(0, e);
+    }
+
+    /**
+     * 尾部添加元素
+     *
+     * @param e 元素
+     */
+    public void addLast(E e) {
+        add(getSize(), e);
+    }
+
+    /**
+     * 根据索引删除元素，间隙移动到index后把该元素并入间隙
+     *
+     * @param index 索引
+     * @return 删除元素
+     */
+    public E remove(int index) {
+        if (index < 0 || index >= getSize()) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        moveGap(index);
+        E ret = data[gapEnd];
+        data[gapEnd++] = null;
+
+        // 缩容
+        if (getSize() == data.length / 4 && data.length / 2 != 0) {
+            resize(data.length / 2);
+        }
+
+        return ret;
+    }
+
+    /**
+     * 删除首元素
+     *
+     * @return 首元素
+     */
+    public E removeFirst() {
+        return remove(0);
+    }
+
+    /**
+     * 删除尾部元素
+     *
+     * @return 尾部元素
+     */
+    public E removeLast() {
+        return remove(getSize() - 1);
+    }
+
+    /**
+     * 根据索引获取元素
+     *
+     * @param index 索引
+     * @return 元素
+     */
+    public E get(int index) {
+        if (index < 0 || index >= getSize()) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        return data[position(index)];
+    }
+
+    /**
+     * 获取首元素
+     *
+     * @return 首元素
+     */
+    public E getFirst() {
+        return get(0);
+    }
+
+    /**
+     * 获取尾部元素
+     *
+     * @return 尾部元素
+     */
+    public E getLast() {
+        return get(getSize() - 1);
+    }
+
+    /**
+     * 判断元素是否存在在数组中
+     *
+     * @param e 元素
+     * @return 存在返回true，否则返回false
+     */
+    public boolean contains(E e) {
+        for (int i = 0; i < gapStart; i++) {
+            if (data[i].equals(e)) {
+                return true;
+            }
+        }
+        for (int i = gapEnd; i < data.length; i++) {
+            if (data[i].equals(e)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 根据索引修改元素
+     *
+     * @param index 索引
+     * @param e     元素
+     */
+    public void set(int index, E e) {
+        if (index < 0 || index >= getSize()) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        data[position(index)] = e;
+    }
+
+    /**
+     * 根据索引交换元素
+     *
+     * @param i 索引
+     * @param j 索引
+     */
+    public void swap(int i, int j) {
+        if (i < 0 || i >= getSize() || j < 0 || j >= getSize()) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        int pi = position(i), pj = position(j);
+        E temp = data[pi];
+        data[pi] = data[pj];
+        data[pj] = temp;
+    }
+
+    /**
+     * 逻辑索引转换为存储位置，间隙之后的元素需要跳过间隙
+     *
+     * @param index 索引
+     * @return 存储位置
+     */
+    private int position(int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    /**
+     * 把间隙移动到逻辑索引index处，只移动两者之间的元素
+     *
+     * @param index 索引
+     */
+    private void moveGap(int index) {
+        int gap = gapEnd - gapStart;
+        if (index < gapStart) {
+            // 间隙左移：[index, gapStart)移到间隙右侧
+            int n = gapStart - index;
+            System.arraycopy(data, index, data, gapEnd - n, n);
+            clear(index, Math.min(gapStart, gapEnd - n));
+        } else if (index > gapStart) {
+            // 间隙右移：[gapEnd, index + gap)移到间隙左侧
+            int n = index - gapStart;
+            System.arraycopy(data, gapEnd, data, gapStart, n);
+            clear(Math.max(gapEnd, gapStart + n), gapEnd + n);
+        }
+        gapStart = index;
+        gapEnd = index + gap;
+    }
+
+    /**
+     * 清空[from, to)，避免间隙中残留引用
+     *
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     */
+    private void clear(int from, int to) {
+        for (int i = from; i < to; i++) {
+            data[i] = null;
+        }
+    }
+
+    /**
+     * 扩容/缩容数组容量，间隙两侧的元素分别复制到新数组的两端
+     *
+     * @param newCapacity 新容量大小
+     */
+    private void resize(int newCapacity) {
+        E[] newData = (E[]) new Object[newCapacity];
+        int tail = data.length - gapEnd;
+        System.arraycopy(data, 0, newData, 0, gapStart);
+        System.arraycopy(data, gapEnd, newData, newCapacity - tail, tail);
+        data = newData;
+        gapEnd = newCapacity - tail;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append(String.format("数组容量：%d  数组元素个数：%d\n[", data.length, getSize()));
+        for (int i = 0; i < getSize(); i++) {
+            res.append(data[position(i)]).append(",");
+        }
+        return res.replace(res.length() - 1, res.length(), "]").toString();
+    }
+
+    public static void main(String[] args) {
+        int n = 1000000;
+        int m = 100000;
+
+        // 光标随机游走，在光标附近插入或删除
+        Random random = new Random(1);
+        int[] ops = new int[m];
+        int[] cursors = new int[m];
+        int cursor = n / 2, size = n;
+        for (int i = 0; i < m; i++) {
+            cursor = Math.max(0, Math.min(size - 1, cursor + random.nextInt(17) - 8));
+            ops[i] = random.nextInt(3);
+            cursors[i] = cursor;
+            size += ops[i] == 0 ? -1 : 1;
+        }
+
+        Integer e = 1;
+        Array<Integer> array = new Array<>();
+        GapBufferArray<Integer> gapBuffer = new GapBufferArray<>();
+        for (int i = 0; i < n; i++) {
+            array.addLast(e);
+            gapBuffer.addLast(e);
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < m; i++) {
+            if (ops[i] == 0) {
+                array.remove(cursors[i]);
+            } else {
+                array.add(cursors[i], e);
+            }
+        }
+        double arrayTime = (System.nanoTime() - startTime) / 1000000000.0;
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < m; i++) {
+            if (ops[i] == 0) {
+                gapBuffer.remove(cursors[i]);
+            } else {
+                gapBuffer.add(cursors[i], e);
+            }
+        }
+        double gapBufferTime = (System.nanoTime() - startTime) / 1000000000.0;
+
+        System.out.println(String.format("%d cursor-local edits on %d elements : Array %.3f s, GapBufferArray %.3f s",
+                m, n, arrayTime, gapBufferTime));
+    }
+}
@@ -0,0 +1,430 @@
+package com.itnear.structure.array;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 描述：数组 - 基于内存映射文件的堆外持久化版本，元素是定长记录。
+ * 文件布局：64字节文件头（魔数、记录长度、元素个数），之后是连续存放的记录。
+ * 记录区按块映射，每块是记录长度的整数倍，记录不会跨块；扩容只重新映射最后一个未满的块并追加新块，
+ * 已满的块保持不变。重新打开时直接映射，不读取数据
+ * 作者：NearJC
+ * 时间：2020/02/19
+ */
+public class MappedArray implements Closeable {
+
+    /**
+     * 魔数
+     */
+    private static final long MAGIC = 0x4D41525241593031L;
+
+    /**
+     * 文件头字段偏移
+     */
+    private static final int MAGIC_OFFSET = 0;
+    private static final int RECORD_SIZE_OFFSET = 8;
+    private static final int SIZE_OFFSET = 16;
+
+    /**
+     * 文件头大小
+     */
+    private static final int HEADER = 64;
+
+    /**
+     * 单个映射块的大小上限（MappedByteBuffer不能超过2GB）
+     */
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+    /**
+     * 默认容量（记录个数）
+     */
+    private static final long DEFAULT_CAPACITY = 1024;
+
+    /**
+     * 文件
+     */
+    private final File file;
+
+    /**
+     * 是否只读
+     */
+    private final boolean readOnly;
+
+    /**
+     * 记录长度（字节）
+     */
+    private final int recordSize;
+
+    /**
+     * 每块的记录个数
+     */
+    private final long recordsPerChunk;
+
+    /**
+     * 文件头映射
+     */
+    private MappedByteBuffer header;
+
+    /**
+     * 记录区映射块，最后一块可能未满
+     */
+    private MappedByteBuffer[] chunks;
+
+    /**
+     * 容量（记录个数）
+     */
+    private long capacity;
+
+    /**
+     * 元素个数
+     */
+    private long size;
+
+    /**
+     * 打开文件，文件不存在时创建
+     *
+     * @param path       文件路径
+     * @param recordSize 记录长度（字节）
+     * @param readOnly   是否只读
+     * @throws IOException 文件读写失败
+     */
+    public MappedArray(String path, int recordSize, boolean readOnly) throws IOException {
+        if (recordSize <= 0 || recordSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("记录长度必须在(0, 1GB]之间");
+        }
+        this.file = new File(path);
+        this.readOnly = readOnly;
+        this.recordSize = recordSize;
+        this.recordsPerChunk = MAX_CHUNK_SIZE / recordSize;
+
+        if (file.exists() && file.length() > 0) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, readOnly ? "r" : "rw")) {
+                this.header = raf.getChannel().map(mode(), 0, HEADER);
+                if (header.getLong(MAGIC_OFFSET) != MAGIC) {
+                    throw new IllegalArgumentException(path + "不是有效的数组文件");
+                }
+                if (header.getLong(RECORD_SIZE_OFFSET) != recordSize) {
+                    throw new IllegalArgumentException(path + "的记录长度为" + header.getLong(RECORD_SIZE_OFFSET));
+                }
+                this.size = header.getLong(SIZE_OFFSET);
+                this.capacity = (raf.length() - HEADER) / recordSize;
+                this.chunks = new MappedByteBuffer[0];
+                mapChunks(raf.getChannel());
+            }
+        } else {
+            if (readOnly) {
+                throw new IllegalArgumentException(path + "不存在");
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(HEADER + DEFAULT_CAPACITY * recordSize);
+                this.header = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, HEADER);
+                header.putLong(MAGIC_OFFSET, MAGIC);
+                header.putLong(RECORD_SIZE_OFFSET, recordSize);
+                header.putLong(SIZE_OFFSET, 0);
+                this.size = 0;
+                this.capacity = DEFAULT_CAPACITY;
+                this.chunks = new MappedByteBuffer[0];
+                mapChunks(raf.getChannel());
+            }
+        }
+    }
+
+    public MappedArray(String path, int recordSize) throws IOException {
+        this(path, recordSize, false);
+    }
+
+    /**
+     * 获取数组元素个数
+     *
+     * @return 元素个数
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * 获取数组容量大小
+     *
+     * @return 容量大小
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 获取记录长度
+     *
+     * @return 记录长度（字节）
+     */
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    /**
+     * 判断数组是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 尾部添加记录
+     *
+     * @param record 记录，长度必须等于记录长度
+     */
+    public void addLast(byte[] record) {
+        checkWritable();
+        checkRecord(record);
+
+        // 扩容
+        if (size == capacity) {
+            grow(capacity * 2);
+        }
+
+        chunk(size).put(position(size), record);
+        setSize(size + 1);
+    }
+
+    /**
+     * 删除尾部记录，文件大小不变
+     *
+     * @return 尾部记录
+     */
+    public byte[] removeLast() {
+        checkWritable();
+        byte[] ret = get(size - 1);
+        setSize(size - 1);
+        return ret;
+    }
+
+    /**
+     * 根据索引获取记录
+     *
+     * @param index 索引
+     * @return 记录
+     */
+    public byte[] get(long index) {
+        byte[] record = new byte[recordSize];
+        get(index, record);
+        return record;
+    }
+
+    /**
+     * 根据索引把记录读入dst，使用绝对位置的批量读取，不创建缓冲区视图，没有任何分配
+     *
+     * @param index 索引
+     * @param dst   目标数组，长度必须等于记录长度
+     */
+    public void get(long index, byte[] dst) {
+        checkIndex(index);
+        checkRecord(dst);
+        chunk(index).get(position(index), dst);
+    }
+
+    /**
+     * 根据索引修改记录
+     *
+     * @param index  索引
+     * @param record 记录，长度必须等于记录长度
+     */
+    public void set(long index, byte[] record) {
+        checkWritable();
+        checkIndex(index);
+        checkRecord(record);
+        chunk(index).put(position(index), record);
+    }
+
+    /**
+     * 读取记录中偏移offset处的long字段，不复制整条记录
+     *
+     * @param index  索引
+     * @param offset 字段在记录中的偏移
+     * @return 字段值
+     */
+    public long getLong(long index, int offset) {
+        checkIndex(index);
+        checkField(offset, 8);
+        return chunk(index).getLong(position(index) + offset);
+    }
+
+    /**
+     * 修改记录中偏移offset处的long字段
+     *
+     * @param index  索引
+     * @param offset 字段在记录中的偏移
+     * @param value  字段值
+     */
+    public void setLong(long index, int offset, long value) {
+        checkWritable();
+        checkIndex(index);
+        checkField(offset, 8);
+        chunk(index).putLong(position(index) + offset, value);
+    }
+
+    /**
+     * 把修改刷写到磁盘
+     */
+    public void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+        header.force();
+    }
+
+    /**
+     * 关闭数组，可写时先刷盘。映射在缓冲区被回收后释放
+     */
+    @Override
+    public void close() {
+        if (!readOnly) {
+            force();
+        }
+        chunks = new MappedByteBuffer[0];
+    }
+
+    /**
+     * 扩容：加长文件，重新映射最后一个未满的块并映射新增的块
+     *
+     * @param newCapacity 新容量
+     */
+    private void grow(long newCapacity) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(HEADER + newCapacity * recordSize);
+            capacity = newCapacity;
+            mapChunks(raf.getChannel());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 按当前容量补齐映射块，已满的块不再重新映射
+     *
+     * @param channel 文件通道
+     * @throws IOException 文件读写失败
+     */
+    private void mapChunks(FileChannel channel) throws IOException {
+        int n = (int) ((capacity + recordsPerChunk - 1) / recordsPerChunk);
+        long chunkBytes = recordsPerChunk * recordSize;
+        int first = chunks.length;
+        if (first > 0 && chunks[first - 1].capacity() < chunkBytes) {
+            first--;
+        }
+
+        MappedByteBuffer[] newChunks = Arrays.copyOf(chunks, n);
+        for (int i = first; i < n; i++) {
+            long records = Math.min(recordsPerChunk, capacity - i * recordsPerChunk);
+            newChunks[i] = channel.map(mode(), HEADER + i * chunkBytes, records * recordSize);
+        }
+        chunks = newChunks;
+    }
+
+    /**
+     * 记录所在的映射块
+     *
+     * @param index 索引
+     * @return 映射块
+     */
+    private MappedByteBuffer chunk(long index) {
+        return chunks[(int) (index / recordsPerChunk)];
+    }
+
+    /**
+     * 记录在映射块内的偏移
+     *
+     * @param index 索引
+     * @return 偏移
+     */
+    private int position(long index) {
+        return (int) (index % recordsPerChunk) * recordSize;
+    }
+
+    /**
+     * 更新元素个数并写入文件头
+     *
+     * @param size 元素个数
+     */
+    private void setSize(long size) {
+        this.size = size;
+        header.putLong(SIZE_OFFSET, size);
+    }
+
+    private FileChannel.MapMode mode() {
+        return readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+    }
+
+    private void checkRecord(byte[] record) {
+        if (record.length != recordSize) {
+            throw new IllegalArgumentException("记录长度必须为" + recordSize);
+        }
+    }
+
+    private void checkField(int offset, int length) {
+        if (offset < 0 || offset + length > recordSize) {
+            throw new IllegalArgumentException("字段超出记录范围");
+        }
+    }
+
+    /**
+     * 只读时拒绝修改
+     */
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("数组以只读方式打开");
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String path = "mapped-array.bin";
+        int n = 5000000;
+        int recordSize = 32;
+
+        long startTime = System.nanoTime();
+        try (MappedArray array = new MappedArray(path, recordSize)) {
+            ByteBuffer record = ByteBuffer.allocate(recordSize);
+            for (int i = 0; i < n; i++) {
+                record.clear();
+                record.putLong(i).putLong((long) i * i);
+                array.addLast(record.array());
+            }
+            System.out.println("Build : " + (System.nanoTime() - startTime) / 1000000000.0 + " s, size "
+                    + array.getSize() + ", capacity " + array.getCapacity());
+        }
+
+        startTime = System.nanoTime();
+        try (MappedArray array = new MappedArray(path, recordSize, true)) {
+            System.out.println("Reopen : " + (System.nanoTime() - startTime) / 1000000.0 + " ms, size " + array.getSize());
+
+            Random random = new Random(1);
+            long sum = 0;
+            startTime = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                long index = random.nextInt(n);
+                long value = array.getLong(index, 8);
+                if (value != index * index) {
+                    throw new IllegalStateException("记录" + index + "错误：" + value);
+                }
+                sum += value;
+            }
+            System.out.println("Random reads : " + (System.nanoTime() - startTime) / (double) n + " ns/op, checksum " + sum);
+        }
+
+        new File(path).delete();
+    }
+}
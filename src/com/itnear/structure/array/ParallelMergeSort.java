@@ -0,0 +1,145 @@
+package com.itnear.structure.array;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 描述：基于fork/join的并行归并排序，分治排序和合并都并行执行
+ * 作者：NearJC
+ * 时间：2020/02/19
+ */
+class ParallelMergeSort<E> extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 小于该长度的区间直接串行排序/合并
+     */
+    private static final int THRESHOLD = 1 << 13;
+
+    /**
+     * 待排序数组与同样长度的辅助数组
+     */
+    private final E[] data, aux;
+
+    /**
+     * 排序区间[from, to)
+     */
+    private final int from, to;
+
+    private final Comparator<? super E> c;
+
+    ParallelMergeSort(E[] data, E[] aux, int from, int to, Comparator<? super E> c) {
+        this.data = data;
+        this.aux = aux;
+        this.from = from;
+        this.to = to;
+        this.c = c;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= THRESHOLD) {
+            Arrays.sort(data, from, to, c);
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        invokeAll(new ParallelMergeSort<>(data, aux, from, mid, c), new ParallelMergeSort<>(data, aux, mid, to, c));
+
+        // 两段已经有序时无需合并
+        if (c.compare(data[mid - 1], data[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(data, from, aux, from, to - from);
+        new Merge<>(aux, from, mid, mid, to, data, from, c).compute();
+    }
+
+    /**
+     * 把有序的src[lo1, hi1)和src[lo2, hi2)合并到dst[dstPos, ...)。
+     * 取较长一段的中点，在另一段中二分出分割点，两侧分别并行合并
+     */
+    private static class Merge<E> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final E[] src, dst;
+        private final int lo1, hi1, lo2, hi2, dstPos;
+        private final Comparator<? super E> c;
+
+        Merge(E[] src, int lo1, int hi1, int lo2, int hi2, E[] dst, int dstPos, Comparator<? super E> c) {
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dst = dst;
+            this.dstPos = dstPos;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= THRESHOLD) {
+                merge();
+                return;
+            }
+
+            // 分割点取在相等元素的同一侧，保持稳定：第一段的元素排在第二段的相等元素之前
+            int mid1, mid2;
+            if (n1 >= n2) {
+                mid1 = (lo1 + hi1) >>> 1;
+                mid2 = lowerBound(src, lo2, hi2, src[mid1], c);
+            } else {
+                mid2 = (lo2 + hi2) >>> 1;
+                mid1 = upperBound(src, lo1, hi1, src[mid2], c);
+            }
+            invokeAll(new Merge<>(src, lo1, mid1, lo2, mid2, dst, dstPos, c),
+                    new Merge<>(src, mid1, hi1, mid2, hi2, dst, dstPos + (mid1 - lo1) + (mid2 - lo2), c));
+        }
+
+        /**
+         * 串行合并
+         */
+        private void merge() {
+            int i = lo1, j = lo2, k = dstPos;
+            while (i < hi1 && j < hi2) {
+                dst[k++] = c.compare(src[j], src[i]) < 0 ? src[j++] : src[i++];
+            }
+            System.arraycopy(src, i, dst, k, hi1 - i);
+            System.arraycopy(src, j, dst, k + hi1 - i, hi2 - j);
+        }
+    }
+
+    /**
+     * [lo, hi)中第一个不小于key的位置
+     */
+    private static <E> int lowerBound(E[] a, int lo, int hi, E key, Comparator<? super E> c) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.compare(a[mid], key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * [lo, hi)中第一个大于key的位置
+     */
+    private static <E> int upperBound(E[] a, int lo, int hi, E key, Comparator<? super E> c) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.compare(a[mid], key) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
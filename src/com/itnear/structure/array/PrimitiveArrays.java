@@ -0,0 +1,346 @@
+package com.itnear.structure.array;
+
+import java.util.Random;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+
+/**
+ * 描述：基本类型数组区间[from, to)上的查找与归约。运行时存在jdk.incubator.vector模块且编译了VectorKernels时
+ * 使用SIMD实现，否则使用ScalarKernels中的标量循环；按条件计数的谓词无法向量化，始终逐个元素调用。
+ * 两种实现的性能对比见bench目录下的JMH基准PrimitiveArraysBenchmark
+ * 作者：NearJC
+ * 时间：2020/02/19
+ */
+public final class PrimitiveArrays {
+
+    /**
+     * 向量实现的类名，源码在src-vector目录下，需要单独编译
+     */
+    private static final String VECTOR_KERNELS = "com.itnear.structure.array.VectorKernels";
+
+    /**
+     * 当前使用的实现
+     */
+    private static final ArrayKernels KERNELS = loadKernels();
+
+    private PrimitiveArrays() {
+    }
+
+    /**
+     * 启动时没有加--add-modules jdk.incubator.vector，或者classpath中没有VectorKernels时，退回标量实现
+     *
+     * @return 实现
+     */
+    private static ArrayKernels loadKernels() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (ArrayKernels) Class.forName(VECTOR_KERNELS).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // 没有单独编译向量实现
+            }
+        }
+        return new ScalarKernels();
+    }
+
+    /**
+     * 是否使用向量实现
+     *
+     * @return 使用向量实现返回true，否则返回false
+     */
+    public static boolean isVectorized() {
+        return !(KERNELS instanceof ScalarKernels);
+    }
+
+    /**
+     * 查找元素第一次出现的位置
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @param e    元素
+     * @return 索引，不存在返回-1
+     */
+    public static int indexOf(int[] a, int from, int to, int e) {
+        return KERNELS.indexOf(a, from, to, e);
+    }
+
+    /**
+     * 求和，用long累加不会溢出
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @return 和
+     */
+    public static long sum(int[] a, int from, int to) {
+        return KERNELS.sum(a, from, to);
+    }
+
+    /**
+     * 最小值，区间为空时返回Integer.MAX_VALUE
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @return 最小值
+     */
+    public static int min(int[] a, int from, int to) {
+        return KERNELS.min(a, from, to);
+    }
+
+    /**
+     * 最大值，区间为空时返回Integer.MIN_VALUE
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @return 最大值
+     */
+    public static int max(int[] a, int from, int to) {
+        return KERNELS.max(a, from, to);
+    }
+
+    /**
+     * 统计落在[lo, hi)内的元素个数，lo >= hi时为0
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @param lo   下界（包含）
+     * @param hi   上界（不包含）
+     * @return 个数
+     */
+    public static int countInRange(int[] a, int from, int to, int lo, int hi) {
+        return KERNELS.countInRange(a, from, to, lo, hi);
+    }
+
+    /**
+     * 统计满足条件的元素个数
+     *
+     * @param a         数组
+     * @param from      起始位置（包含）
+     * @param to        结束位置（不包含）
+     * @param predicate 条件
+     * @return 个数
+     */
+    public static int count(int[] a, int from, int to, IntPredicate predicate) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += predicate.test(a[i]) ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * 查找元素第一次出现的位置
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @param e    元素
+     * @return 索引，不存在返回-1
+     */
+    public static int indexOf(long[] a, int from, int to, long e) {
+        return KERNELS.indexOf(a, from, to, e);
+    }
+
+    /**
+     * 求和，溢出时按补码回绕
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @return 和
+     */
+    public static long sum(long[] a, int from, int to) {
+        return KERNELS.sum(a, from, to);
+    }
+
+    /**
+     * 最小值，区间为空时返回Long.MAX_VALUE
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @return 最小值
+     */
+    public static long min(long[] a, int from, int to) {
+        return KERNELS.min(a, from, to);
+    }
+
+    /**
+     * 最大值，区间为空时返回Long.MIN_VALUE
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @return 最大值
+     */
+    public static long max(long[] a, int from, int to) {
+        return KERNELS.max(a, from, to);
+    }
+
+    /**
+     * 统计落在[lo, hi)内的元素个数，lo >= hi时为0
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @param lo   下界（包含）
+     * @param hi   上界（不包含）
+     * @return 个数
+     */
+    public static int countInRange(long[] a, int from, int to, long lo, long hi) {
+        return KERNELS.countInRange(a, from, to, lo, hi);
+    }
+
+    /**
+     * 统计满足条件的元素个数
+     *
+     * @param a         数组
+     * @param from      起始位置（包含）
+     * @param to        结束位置（不包含）
+     * @param predicate 条件
+     * @return 个数
+     */
+    public static int count(long[] a, int from, int to, LongPredicate predicate) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += predicate.test(a[i]) ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * 查找元素第一次出现的位置，与Double.equals一致：NaN等于NaN，0.0不等于-0.0
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @param e    元素
+     * @return 索引，不存在返回-1
+     */
+    public static int indexOf(double[] a, int from, int to, double e) {
+        return KERNELS.indexOf(a, from, to, e);
+    }
+
+    /**
+     * 求和，累加顺序与顺序累加不同，结果可能有舍入误差上的差别
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @return 和
+     */
+    public static double sum(double[] a, int from, int to) {
+        return KERNELS.sum(a, from, to);
+    }
+
+    /**
+     * 最小值，忽略NaN，区间为空时返回正无穷，同时存在0.0与-0.0时返回哪一个不确定
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @return 最小值
+     */
+    public static double min(double[] a, int from, int to) {
+        return KERNELS.min(a, from, to);
+    }
+
+    /**
+     * 最大值，忽略NaN，区间为空时返回负无穷，同时存在0.0与-0.0时返回哪一个不确定
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @return 最大值
+     */
+    public static double max(double[] a, int from, int to) {
+        return KERNELS.max(a, from, to);
+    }
+
+    /**
+     * 统计落在[lo, hi)内的元素个数，NaN不计入
+     *
+     * @param a    数组
+     * @param from 起始位置（包含）
+     * @param to   结束位置（不包含）
+     * @param lo   下界（包含）
+     * @param hi   上界（不包含）
+     * @return 个数
+     */
+    public static int countInRange(double[] a, int from, int to, double lo, double hi) {
+        return KERNELS.countInRange(a, from, to, lo, hi);
+    }
+
+    /**
+     * 统计满足条件的元素个数
+     *
+     * @param a         数组
+     * @param from      起始位置（包含）
+     * @param to        结束位置（不包含）
+     * @param predicate 条件
+     * @return 个数
+     */
+    public static int count(double[] a, int from, int to, DoublePredicate predicate) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += predicate.test(a[i]) ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * 校验当前实现与标量实现的结果一致，覆盖各种区间长度、非对齐起点与边界值
+     */
+    public static void main(String[] args) {
+        System.out.println("PrimitiveArrays : " + (isVectorized() ? "vector" : "scalar") + " kernels");
+
+        ArrayKernels scalar = new ScalarKernels();
+        Random random = new Random(1);
+        int n = 300;
+        int[] specialInts = {Integer.MIN_VALUE, Integer.MAX_VALUE, -1, 0, 1};
+        double[] specialDoubles = {Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, -0.0, 0.0, 1.5};
+        for (int round = 0; round < 2000; round++) {
+            int[] ints = new int[n];
+            long[] longs = new long[n];
+            double[] doubles = new double[n];
+            for (int i = 0; i < n; i++) {
+                ints[i] = random.nextInt(4) == 0 ? specialInts[random.nextInt(specialInts.length)] : random.nextInt(64) - 32;
+                longs[i] = random.nextInt(4) == 0 ? (long) ints[i] << 32 | random.nextInt() : ints[i];
+                doubles[i] = random.nextInt(4) == 0 ? specialDoubles[random.nextInt(specialDoubles.length)] : ints[i] / 4.0;
+            }
+            int from = random.nextInt(n), to = from + random.nextInt(n - from + 1);
+            int e = ints[random.nextInt(n)], lo = random.nextInt(64) - 32, hi = lo + random.nextInt(48) - 8;
+            long f = longs[random.nextInt(n)];
+            double d = doubles[random.nextInt(n)];
+
+            check(KERNELS.indexOf(ints, from, to, e) == scalar.indexOf(ints, from, to, e), "int indexOf");
+            check(KERNELS.sum(ints, from, to) == scalar.sum(ints, from, to), "int sum");
+            check(KERNELS.min(ints, from, to) == scalar.min(ints, from, to), "int min");
+            check(KERNELS.max(ints, from, to) == scalar.max(ints, from, to), "int max");
+            check(KERNELS.countInRange(ints, from, to, lo, hi) == scalar.countInRange(ints, from, to, lo, hi), "int countInRange");
+            check(KERNELS.indexOf(longs, from, to, f) == scalar.indexOf(longs, from, to, f), "long indexOf");
+            check(KERNELS.sum(longs, from, to) == scalar.sum(longs, from, to), "long sum");
+            check(KERNELS.min(longs, from, to) == scalar.min(longs, from, to), "long min");
+            check(KERNELS.max(longs, from, to) == scalar.max(longs, from, to), "long max");
+            check(KERNELS.countInRange(longs, from, to, lo, hi) == scalar.countInRange(longs, from, to, lo, hi), "long countInRange");
+            check(KERNELS.indexOf(doubles, from, to, d) == scalar.indexOf(doubles, from, to, d), "double indexOf");
+            check(Math.abs(KERNELS.sum(doubles, from, to) - scalar.sum(doubles, from, to)) <= 1e-9
+                    || Double.compare(KERNELS.sum(doubles, from, to), scalar.sum(doubles, from, to)) == 0, "double sum");
+            check(KERNELS.min(doubles, from, to) == scalar.min(doubles, from, to), "double min");
+            check(KERNELS.max(doubles, from, to) == scalar.max(doubles, from, to), "double max");
+            check(KERNELS.countInRange(doubles, from, to, lo / 4.0, hi / 4.0)
+                    == scalar.countInRange(doubles, from, to, lo / 4.0, hi / 4.0), "double countInRange");
+        }
+        System.out.println("PrimitiveArrays : results match ScalarKernels");
+    }
+
+    private static void check(boolean ok, String name) {
+        if (!ok) {
+            throw new IllegalStateException(name + "结果与标量实现不一致");
+        }
+    }
+}
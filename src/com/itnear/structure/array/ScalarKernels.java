@@ -0,0 +1,190 @@
+package com.itnear.structure.array;
+
+/**
+ * 描述：ArrayKernels的标量实现，没有向量实现时使用。循环写成无分支、无跨迭代依赖的形式，
+ * 便于JIT自动向量化，并避免随机数据上的分支预测失败
+ * 作者：NearJC
+ * 时间：2020/02/19
+ */
+final class ScalarKernels implements ArrayKernels {
+
+    @Override
+    public int indexOf(int[] a, int from, int to, int e) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == e) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public long sum(int[] a, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int min(int[] a, int from, int to) {
+        int min = Integer.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            }
+        }
+        return min;
+    }
+
+    @Override
+    public int max(int[] a, int from, int to) {
+        int max = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            if (a[i] > max) {
+                max = a[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * x - lo按无符号比较小于hi - lo当且仅当lo <= x < hi，两边同加Integer.MIN_VALUE转为有符号比较，循环内没有分支
+     */
+    @Override
+    public int countInRange(int[] a, int from, int to, int lo, int hi) {
+        if (lo >= hi) {
+            return 0;
+        }
+
+        int width = hi - lo + Integer.MIN_VALUE;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += a[i] - lo + Integer.MIN_VALUE < width ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public int indexOf(long[] a, int from, int to, long e) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == e) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public long sum(long[] a, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long min(long[] a, int from, int to) {
+        long min = Long.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            }
+        }
+        return min;
+    }
+
+    @Override
+    public long max(long[] a, int from, int to) {
+        long max = Long.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            if (a[i] > max) {
+                max = a[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 做法同int版本
+     */
+    @Override
+    public int countInRange(long[] a, int from, int to, long lo, long hi) {
+        if (lo >= hi) {
+            return 0;
+        }
+
+        long width = hi - lo + Long.MIN_VALUE;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += a[i] - lo + Long.MIN_VALUE < width ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public int indexOf(double[] a, int from, int to, double e) {
+        long bits = Double.doubleToLongBits(e);
+        for (int i = from; i < to; i++) {
+            if (Double.doubleToLongBits(a[i]) == bits) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 用4个独立的累加器打断加法的依赖链
+     */
+    @Override
+    public double sum(double[] a, int from, int to) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public double min(double[] a, int from, int to) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            }
+        }
+        return min;
+    }
+
+    @Override
+    public double max(double[] a, int from, int to) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            if (a[i] > max) {
+                max = a[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 两个比较用非短路的&连接，避免分支
+     */
+    @Override
+    public int countInRange(double[] a, int from, int to, double lo, double hi) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += a[i] >= lo & a[i] < hi ? 1 : 0;
+        }
+        return count;
+    }
+}
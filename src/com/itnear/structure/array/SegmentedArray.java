@@ -0,0 +1,344 @@
+package com.itnear.structure.array;
+
+import com.itnear.util.MemoryStats;
+
+import java.util.Arrays;
+
+/**
+ * 描述：数组 - 分段版本，元素存放在固定大小的块中，块由主干数组索引。
+ * 扩容只分配新块，不复制已有元素；缩容释放尾部的空块
+ * 作者：NearJC
+ * 时间：2020/02/18
+ */
+public class SegmentedArray<E> {
+
+    /**
+     * 默认块大小的位数（每块4096个元素）
+     */
+    private static final int DEFAULT_CHUNK_SHIFT = 12;
+
+    /**
+     * 主干数组，每个元素是一个块
+     */
+    private E[][] chunks;
+
+    /**
+     * 已分配的块数
+     */
+    private int chunkCount;
+
+    /**
+     * 块大小的位数
+     */
+    private final int shift;
+
+    /**
+     * 块内索引掩码（块大小-1）
+     */
+    private final int mask;
+
+    /**
+     * 元素个数
+     */
+    private int size;
+
+    public SegmentedArray(int chunkShift) {
+        if (chunkShift < 0 || chunkShift > 30) {
+            throw new IllegalArgumentException("块大小的位数必须在[0,30]之间");
+        }
+        this.shift = chunkShift;
+        this.mask = (1 << chunkShift) - 1;
+        this.chunks = (E[][]) new Object[1][];
+        this.chunkCount = 0;
+        this.size = 0;
+    }
+
+    public SegmentedArray() {
+        this(DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * 获取数组元素个数
+     *
+     * @return 元素个数
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 获取数组容量大小
+     *
+     * @return 容量大小
+     */
+    public int getCapacity() {
+        return chunkCount << shift;
+    }
+
+    /**
+     * 判断数组是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 根据索引添加元素，从尾部开始逐块后移一位，块末尾的元素移入下一块的开头
+     *
+     * @param index 索引
+     * @param e     元素
+     */
+    public void add(int index, E e) {
+        if (index < 0 || index > size) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        // 扩容
+        if (size == getCapacity()) {
+            grow();
+        }
+
+        int first = index >>> shift;
+        for (int c = size >>> shift; c >= first; c--) {
+            int start = c == first ? index & mask : 0;
+            int end = c == size >>> shift ? size & mask : mask + 1;
+            if (end == mask + 1) {
+                chunks[c + 1][0] = chunks[c][mask];
+                end--;
+            }
+            System.arraycopy(chunks[c], start, chunks[c], start + 1, end - start);
+        }
+        chunks[first][index & mask] = e;
+        size++;
+    }
+
+    /**
+     * 头部添加元素
+     *
+     * @param e 元素
+     */
+    public void addFirst(E e) {
+        add(0, e);
+    }
+
+    /**
+     * 尾部添加元素
+     *
+     * @param e 元素
+     */
+    public void addLast(E e) {
+        if (size == getCapacity()) {
+            grow();
+        }
+        chunks[size >>> shift][size & mask] = e;
+        size++;
+    }
+
+    /**
+     * 根据索引删除元素，逐块前移一位，下一块开头的元素移入当前块的末尾
+     *
+     * @param index 索引
+     * @return 删除元素
+     */
+    public E remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        // 删除元素
+        E ret = chunks[index >>> shift][index & mask];
+        int last = (size - 1) >>> shift;
+        for (int c = index >>> shift; c <= last; c++) {
+            int start = c == index >>> shift ? index & mask : 0;
+            int end = c == last ? ((size - 1) & mask) + 1 : mask + 1;
+            System.arraycopy(chunks[c], start + 1, chunks[c], start, end - start - 1);
+            if (c < last) {
+                chunks[c][mask] = chunks[c + 1][0];
+            }
+        }
+        chunks[last][(size - 1) & mask] = null;
+        size--;
+
+        // 缩容
+        shrink();
+        return ret;
+    }
+
+    /**
+     * 删除首元素
+     *
+     * @return 首元素
+     */
+    public E removeFirst() {
+        return remove(0);
+    }
+
+    /**
+     * 删除尾部元素
+     *
+     * @return 尾部元素
+     */
+    public E removeLast() {
+        if (size == 0) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        size--;
+        E ret = chunks[size >>> shift][size & mask];
+        chunks[size >>> shift][size & mask] = null;
+        shrink();
+        return ret;
+    }
+
+    /**
+     * 根据索引获取元素
+     *
+     * @param index 索引
+     * @return 元素
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        return chunks[index >>> shift][index & mask];
+    }
+
+    /**
+     * 获取首元素
+     *
+     * @return 首元素
+     */
+    public E getFirst() {
+        return get(0);
+    }
+
+    /**
+     * 获取尾部元素
+     *
+     * @return 尾部元素
+     */
+    public E getLast() {
+        return get(size - 1);
+    }
+
+    /**
+     * 判断元素是否存在在数组中
+     *
+     * @param e 元素
+     * @return 存在返回true，否则返回false
+     */
+    public boolean contains(E e) {
+        for (int c = 0; c << shift < size; c++) {
+            E[] chunk = chunks[c];
+            int end = Math.min(mask + 1, size - (c << shift));
+            for (int i = 0; i < end; i++) {
+                if (chunk[i].equals(e)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 根据索引修改元素
+     *
+     * @param index 索引
+     * @param e     元素
+     */
+    public void set(int index, E e) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        chunks[index >>> shift][index & mask] = e;
+    }
+
+    /**
+     * 根据索引交换元素
+     *
+     * @param i 索引
+     * @param j 索引
+     */
+    public void swap(int i, int j) {
+        if (i < 0 || i >= size || j < 0 || j >= size) {
+            throw new IllegalArgumentException("数组下标越界");
+        }
+
+        E temp = chunks[i >>> shift][i & mask];
+        chunks[i >>> shift][i & mask] = chunks[j >>> shift][j & mask];
+        chunks[j >>> shift][j & mask] = temp;
+    }
+
+    /**
+     * 扩容：分配一个新块，主干数组满时主干加倍（只复制块引用）
+     */
+    private void grow() {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        chunks[chunkCount++] = (E[]) new Object[mask + 1];
+    }
+
+    /**
+     * 缩容：释放尾部的空块，保留一个空块避免在块边界反复增删时抖动
+     */
+    private void shrink() {
+        int needed = (size + mask) >>> shift;
+        while (chunkCount > needed + 1) {
+            chunks[--chunkCount] = null;
+        }
+        if (chunkCount < chunks.length / 4) {
+            chunks = Arrays.copyOf(chunks, chunks.length / 2);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append(String.format("数组容量：%d  数组元素个数：%d\n[", getCapacity(), size));
+        for (int i = 0; i < size; i++) {
+            res.append(chunks[i >>> shift][i & mask]).append(",");
+        }
+        return res.replace(res.length() - 1, res.length(), "]").toString();
+    }
+
+    public static void main(String[] args) {
+        int n = 50000000;
+        // 复用缓存的Integer对象，只测量数组本身的开销
+        Integer e = 1;
+
+        for (int round = 0; round < 2; round++) {
+            System.gc();
+            MemoryStats.resetPeakUsage();
+            long[] gc = MemoryStats.gcStats();
+            long startTime = System.nanoTime();
+            Array<Integer> array = new Array<>();
+            for (int i = 0; i < n; i++) {
+                array.addLast(e);
+            }
+            double time = (System.nanoTime() - startTime) / 1000000000.0;
+            long[] gcAfter = MemoryStats.gcStats();
+            System.out.println(String.format("Array          : append %d in %.3f s, GC %d times %d ms, peak heap %d MB",
+                    n, time, gcAfter[0] - gc[0], gcAfter[1] - gc[1], MemoryStats.peakUsage() >> 20));
+            array = null;
+
+            System.gc();
+            MemoryStats.resetPeakUsage();
+            gc = MemoryStats.gcStats();
+            startTime = System.nanoTime();
+            SegmentedArray<Integer> segmented = new SegmentedArray<>();
+            for (int i = 0; i < n; i++) {
+                segmented.addLast(e);
+            }
+            time = (System.nanoTime() - startTime) / 1000000000.0;
+            gcAfter = MemoryStats.gcStats();
+            System.out.println(String.format("SegmentedArray : append %d in %.3f s, GC %d times %d ms, peak heap %d MB",
+                    n, time, gcAfter[0] - gc[0], gcAfter[1] - gc[1], MemoryStats.peakUsage() >> 20));
+        }
+    }
+}
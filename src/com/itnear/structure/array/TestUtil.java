@@ -0,0 +1,71 @@
+package com.itnear.structure.array;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 测试类
+ */
+public class TestUtil {
+
+    /**
+     * 排序测试
+     *
+     * @param array       数组，测试后恢复为原来的顺序
+     * @param parallelism 并行度，0表示串行排序
+     * @return 耗时（秒）
+     */
+    private static double testSort(Array<Integer> array, int parallelism) {
+        Integer[] copy = new Integer[array.getSize()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = array.get(i);
+        }
+
+        long startTime = System.nanoTime();
+        if (parallelism == 0) {
+            array.sort(Comparator.naturalOrder());
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            array.parallelSort(Comparator.naturalOrder(), pool);
+            pool.shutdown();
+        }
+        long endTime = System.nanoTime();
+
+        for (int i = 1; i < array.getSize(); i++) {
+            if (array.get(i - 1) > array.get(i)) {
+                throw new IllegalStateException("排序错误");
+            }
+        }
+        for (int i = 0; i < copy.length; i++) {
+            array.set(i, copy[i]);
+        }
+        return (endTime - startTime) / 1000000000.0;
+    }
+
+    public static void main(String[] args) {
+        int n = 10000000;
+        Random random = new Random(1);
+        Array<Integer> array = new Array<>(n);
+        for (int i = 0; i < n; i++) {
+            array.addLast(random.nextInt());
+        }
+
+        System.out.println(String.format("sort         : %.3f s", testSort(array, 0)));
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int p = 1; p <= cores; p *= 2) {
+            System.out.println(String.format("parallelSort : %2d threads %.3f s", p, testSort(array, p)));
+        }
+
+        long startTime = System.nanoTime();
+        long sum = array.stream().mapToLong(Integer::longValue).sum();
+        double sequential = (System.nanoTime() - startTime) / 1000000000.0;
+        startTime = System.nanoTime();
+        long parallelSum = array.parallelStream().mapToLong(Integer::longValue).sum();
+        double parallel = (System.nanoTime() - startTime) / 1000000000.0;
+        if (sum != parallelSum) {
+            throw new IllegalStateException("并行流结果错误");
+        }
+        System.out.println(String.format("stream sum   : sequential %.3f s, parallel %.3f s", sequential, parallel));
+    }
+}
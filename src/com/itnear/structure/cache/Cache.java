@@ -0,0 +1,229 @@
+package com.itnear.structure.cache;
+
+import com.itnear.structure.hash.RobinHoodHashTable;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * 描述：容量有限的缓存，键到节点的索引使用哈希表，淘汰顺序由可插拔的淘汰策略维护
+ * 作者：NearJC
+ * 时间：2020/02/16
+ */
+public class Cache<K, V> {
+
+    /**
+     * 键到节点的索引
+     */
+    private RobinHoodHashTable<K, Node<K, V>> table;
+
+    /**
+     * 淘汰策略
+     */
+    private EvictionPolicy<K, V> policy;
+
+    /**
+     * 命中、未命中、淘汰次数
+     */
+    private long hitCount, missCount, evictionCount;
+
+    public Cache(EvictionPolicy<K, V> policy) {
+        this.table = new RobinHoodHashTable<>();
+        this.policy = policy;
+    }
+
+    /**
+     * 获取缓存元素个数
+     *
+     * @return 元素个数
+     */
+    public int getSize() {
+        return table.getSize();
+    }
+
+    /**
+     * 判断缓存是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    public boolean isEmpty() {
+        return table.isEmpty();
+    }
+
+    /**
+     * 根据键key获取值，并计入命中/未命中
+     *
+     * @param key 键
+     * @return 值，未缓存返回null
+     */
+    public V get(K key) {
+        Node<K, V> node = table.get(key);
+        if (node == null) {
+            missCount++;
+            policy.onMiss(key);
+            return null;
+        }
+
+        hitCount++;
+        policy.onHit(node);
+        return node.value;
+    }
+
+    /**
+     * 添加元素，键已存在时修改原来的值，超出容量时由淘汰策略选出节点淘汰
+     *
+     * @param key   键
+     * @param value 值
+     */
+    public void put(K key, V value) {
+        Node<K, V> node = table.get(key);
+        if (node != null) {
+            node.value = value;
+            policy.onHit(node);
+            return;
+        }
+
+        node = new Node<>(key, value);
+        table.add(key, node);
+        Node<K, V> evicted = policy.onInsert(node);
+        if (evicted != null) {
+            table.remove(evicted.key);
+            evictionCount++;
+        }
+    }
+
+    /**
+     * 根据键key获取值，未缓存时用mappingFunction计算并放入缓存，计算结果为null时不缓存
+     *
+     * @param key             键
+     * @param mappingFunction 计算函数
+     * @return 值
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 根据键key删除元素
+     *
+     * @param key 键
+     * @return 删除的元素值
+     */
+    public V remove(K key) {
+        Node<K, V> node = table.remove(key);
+        if (node == null) {
+            return null;
+        }
+        policy.onRemove(node);
+        return node.value;
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * 获取淘汰次数
+     *
+     * @return 淘汰次数
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * 获取命中率
+     *
+     * @return 命中率
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Cache：元素个数：%d，命中：%d，未命中：%d，淘汰：%d，命中率：%.2f%%",
+                getSize(), hitCount, missCount, evictionCount, getHitRate() * 100);
+    }
+
+    /**
+     * 生成服从Zipf分布的访问序列
+     *
+     * @param keys     键空间大小
+     * @param s        分布指数
+     * @param requests 访问次数
+     * @param random   随机数
+     * @return 访问序列
+     */
+    private static int[] zipf(int keys, double s, int requests, Random random) {
+        double[] cdf = new double[keys];
+        double sum = 0;
+        for (int i = 0; i < keys; i++) {
+            sum += 1 / Math.pow(i + 1, s);
+            cdf[i] = sum;
+        }
+
+        // 打乱热度与键值的对应关系
+        int[] permutation = new int[keys];
+        for (int i = 0; i < keys; i++) {
+            int j = random.nextInt(i + 1);
+            permutation[i] = permutation[j];
+            permutation[j] = i;
+        }
+
+        int[] trace = new int[requests];
+        for (int i = 0; i < requests; i++) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            trace[i] = permutation[index < 0 ? -index - 1 : index];
+        }
+        return trace;
+    }
+
+    public static void main(String[] args) {
+        int keys = 1000000;
+        int maximumSize = 10000;
+        Random random = new Random(1);
+
+        // 热点访问中混入一次性扫描
+        int[] hot = zipf(keys, 0.9, 2000000, random);
+        int[] trace = new int[hot.length];
+        int scan = keys;
+        for (int i = 0; i < hot.length; i++) {
+            trace[i] = (i / 50000) % 4 == 3 ? scan++ : hot[i];
+        }
+
+        String[] names = {"LRU", "SLRU", "W-TinyLFU"};
+        for (String name : names) {
+            EvictionPolicy<Integer, Integer> policy = name.equals("LRU") ? new LRUPolicy<>(maximumSize)
+                    : name.equals("SLRU") ? new SLRUPolicy<>(maximumSize) : new WTinyLFUPolicy<>(maximumSize);
+            Cache<Integer, Integer> cache = new Cache<>(policy);
+            for (int key : trace) {
+                cache.computeIfAbsent(key, k -> k);
+            }
+            System.out.println(String.format("%-10s", name) + cache);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.itnear.structure.cache;
+
+import com.itnear.structure.hash.HashFunctions;
+
+/**
+ * 描述：Count-Min Sketch频率估计，4行4位计数器，计数总数达到采样上限时所有计数器减半（老化）
+ * 作者：NearJC
+ * 时间：2020/02/16
+ */
+public class CountMinSketch {
+
+    /**
+     * 行数
+     */
+    private static final int DEPTH = 4;
+
+    /**
+     * 每行的哈希种子
+     */
+    private static final long[] SEEDS = {
+            0x97CB3127D5B8E3A1L, 0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL};
+
+    /**
+     * 计数器，每个long存放16个4位计数器，第i行占用[i * width, (i + 1) * width)个计数器
+     */
+    private final long[] table;
+
+    /**
+     * 每行计数器个数-1
+     */
+    private final int widthMask;
+
+    /**
+     * 每行计数器个数
+     */
+    private final int width;
+
+    /**
+     * 采样上限
+     */
+    private final int sampleSize;
+
+    /**
+     * 本轮采样计数
+     */
+    private int additions;
+
+    /**
+     * @param maximumSize 缓存容量，每行计数器个数取不小于它的2的幂
+     */
+    public CountMinSketch(int maximumSize) {
+        int n = 16;
+        while (n < maximumSize) {
+            n <<= 1;
+        }
+        this.width = n;
+        this.widthMask = n - 1;
+        this.table = new long[DEPTH * n / 16];
+        this.sampleSize = 10 * Math.max(maximumSize, 1);
+        this.additions = 0;
+    }
+
+    /**
+     * 估计元素出现的频率，取各行计数器的最小值
+     *
+     * @param hash 元素哈希值
+     * @return 频率（0~15）
+     */
+    public int frequency(int hash) {
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            frequency = Math.min(frequency, get(indexOf(hash, i)));
+        }
+        return frequency;
+    }
+
+    /**
+     * 元素出现一次，各行计数器加1（已饱和的计数器不变）
+     *
+     * @param hash 元素哈希值
+     */
+    public void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            added |= incrementAt(indexOf(hash, i));
+        }
+
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * 老化：所有计数器减半
+     */
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & 0x1111111111111111L);
+            table[i] = (table[i] >>> 1) & 0x7777777777777777L;
+        }
+        additions = (additions - (odd >>> 2)) >>> 1;
+    }
+
+    /**
+     * 计算第row行的计数器索引
+     *
+     * @param hash 元素哈希值
+     * @param row  行
+     * @return 计数器索引
+     */
+    private int indexOf(int hash, int row) {
+        long h = HashFunctions.fmix64(hash + SEEDS[row]);
+        return row * width + ((int) h & widthMask);
+    }
+
+    /**
+     * 读取计数器
+     *
+     * @param index 计数器索引
+     * @return 计数
+     */
+    private int get(int index) {
+        return (int) (table[index >>> 4] >>> ((index & 15) << 2)) & 0xF;
+    }
+
+    /**
+     * 计数器加1
+     *
+     * @param index 计数器索引
+     * @return 计数器未饱和返回true，否则返回false
+     */
+    private boolean incrementAt(int index) {
+        int i = index >>> 4;
+        int offset = (index & 15) << 2;
+        long mask = 0xFL << offset;
+        if ((table[i] & mask) != mask) {
+            table[i] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+package com.itnear.structure.cache;
+
+/**
+ * 描述：缓存淘汰策略接口
+ * 作者：NearJC
+ * 时间：2020/02/16
+ */
+public interface EvictionPolicy<K, V> {
+
+    /**
+     * 查询未命中，可用于统计访问频率
+     *
+     * @param key 键
+     */
+    void onMiss(K key);
+
+    /**
+     * 命中已缓存的节点
+     *
+     * @param node 节点
+     */
+    void onHit(Node<K, V> node);
+
+    /**
+     * 新节点加入缓存
+     *
+     * @param node 节点
+     * @return 超出容量时需要淘汰的节点（可能是新节点本身），否则返回null
+     */
+    Node<K, V> onInsert(Node<K, V> node);
+
+    /**
+     * 节点被显式删除
+     *
+     * @param node 节点
+     */
+    void onRemove(Node<K, V> node);
+}
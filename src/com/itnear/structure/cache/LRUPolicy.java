@@ -0,0 +1,69 @@
+package com.itnear.structure.cache;
+
+/**
+ * 描述：淘汰策略 - 最近最少使用（LRU）
+ * 作者：NearJC
+ * 时间：2020/02/16
+ */
+public class LRUPolicy<K, V> implements EvictionPolicy<K, V> {
+
+    /**
+     * 最大容量
+     */
+    private final int maximumSize;
+
+    /**
+     * 访问队列
+     */
+    private final NodeList<K, V> queue;
+
+    public LRUPolicy(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("容量必须大于0");
+        }
+        this.maximumSize = maximumSize;
+        this.queue = new NodeList<>();
+    }
+
+    /**
+     * 未命中不影响访问顺序
+     *
+     * @param key 键
+     */
+    @Override
+    public void onMiss(K key) {
+        // 不统计频率
+    }
+
+    /**
+     * 命中时把节点移动到队尾
+     *
+     * @param node 节点
+     */
+    @Override
+    public void onHit(Node<K, V> node) {
+        queue.moveToLast(node);
+    }
+
+    /**
+     * 新节点加入队尾，超出容量时淘汰队头
+     *
+     * @param node 节点
+     * @return 需要淘汰的节点，没有返回null
+     */
+    @Override
+    public Node<K, V> onInsert(Node<K, V> node) {
+        queue.addLast(node);
+        return queue.getSize() > maximumSize ? queue.removeFirst() : null;
+    }
+
+    /**
+     * 从队列中删除节点
+     *
+     * @param node 节点
+     */
+    @Override
+    public void onRemove(Node<K, V> node) {
+        queue.remove(node);
+    }
+}
@@ -0,0 +1,53 @@
+package com.itnear.structure.cache;
+
+/**
+ * 描述：缓存节点，由缓存创建，淘汰策略负责把节点组织到各自的队列中
+ * 作者：NearJC
+ * 时间：2020/02/16
+ */
+public class Node<K, V> {
+
+    /**
+     * 所在队列
+     */
+    static final int WINDOW = 0;
+    static final int PROBATION = 1;
+    static final int PROTECTED = 2;
+
+    /**
+     * 键
+     */
+    K key;
+
+    /**
+     * 值
+     */
+    V value;
+
+    /**
+     * 前驱、后继节点
+     */
+    Node<K, V> prev, next;
+
+    /**
+     * 所在队列
+     */
+    int queue;
+
+    Node(K key, V value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    Node() {
+        this(null, null);
+    }
+
+    public K getKey() {
+        return key;
+    }
+
+    public V getValue() {
+        return value;
+    }
+}
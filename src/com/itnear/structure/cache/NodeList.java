@@ -0,0 +1,101 @@
+package com.itnear.structure.cache;
+
+/**
+ * 描述：双向循环链表，队头为最久未访问的节点，队尾为最近访问的节点
+ * 作者：NearJC
+ * 时间：2020/02/16
+ */
+class NodeList<K, V> {
+
+    /**
+     * 哨兵节点
+     */
+    private final Node<K, V> dummy;
+
+    /**
+     * 元素个数
+     */
+    private int size;
+
+    NodeList() {
+        this.dummy = new Node<>();
+        dummy.prev = dummy;
+        dummy.next = dummy;
+        this.size = 0;
+    }
+
+    /**
+     * 获取元素个数
+     *
+     * @return 元素个数
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * 判断链表是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 在队尾添加节点
+     *
+     * @param node 节点
+     */
+    void addLast(Node<K, V> node) {
+        node.prev = dummy.prev;
+        node.next = dummy;
+        dummy.prev.next = node;
+        dummy.prev = node;
+        size++;
+    }
+
+    /**
+     * 删除节点
+     *
+     * @param node 节点
+     */
+    void remove(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = node.next = null;
+        size--;
+    }
+
+    /**
+     * 把节点移动到队尾
+     *
+     * @param node 节点
+     */
+    void moveToLast(Node<K, V> node) {
+        remove(node);
+        addLast(node);
+    }
+
+    /**
+     * 查看队头节点
+     *
+     * @return 队头节点，为空返回null
+     */
+    Node<K, V> getFirst() {
+        return size == 0 ? null : dummy.next;
+    }
+
+    /**
+     * 删除队头节点
+     *
+     * @return 队头节点，为空返回null
+     */
+    Node<K, V> removeFirst() {
+        Node<K, V> node = getFirst();
+        if (node != null) {
+            remove(node);
+        }
+        return node;
+    }
+}
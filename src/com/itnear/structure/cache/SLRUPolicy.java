@@ -0,0 +1,104 @@
+package com.itnear.structure.cache;
+
+/**
+ * 描述：淘汰策略 - 分段LRU（SLRU）
+ * 新节点进入试用段，在试用段再次命中后晋升到保护段；保护段溢出时最久未访问的节点降级回试用段，
+ * 淘汰总是优先发生在试用段，一次性扫描的数据不会冲掉反复访问的热点
+ * 作者：NearJC
+ * 时间：2020/02/16
+ */
+public class SLRUPolicy<K, V> implements EvictionPolicy<K, V> {
+
+    /**
+     * 保护段占比
+     */
+    private static final double PROTECTED_RATIO = 0.8;
+
+    /**
+     * 最大容量
+     */
+    private final int maximumSize;
+
+    /**
+     * 保护段最大容量
+     */
+    private final int protectedSize;
+
+    /**
+     * 试用段、保护段
+     */
+    private final NodeList<K, V> probation, protect;
+
+    public SLRUPolicy(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("容量必须大于0");
+        }
+        this.maximumSize = maximumSize;
+        this.protectedSize = (int) (maximumSize * PROTECTED_RATIO);
+        this.probation = new NodeList<>();
+        this.protect = new NodeList<>();
+    }
+
+    /**
+     * 未命中不影响访问顺序
+     *
+     * @param key 键
+     */
+    @Override
+    public void onMiss(K key) {
+        // 不统计频率
+    }
+
+    /**
+     * 命中时试用段节点晋升到保护段，保护段节点移动到队尾
+     *
+     * @param node 节点
+     */
+    @Override
+    public void onHit(Node<K, V> node) {
+        if (node.queue == Node.PROTECTED) {
+            protect.moveToLast(node);
+            return;
+        }
+
+        // 晋升到保护段
+        probation.remove(node);
+        node.queue = Node.PROTECTED;
+        protect.addLast(node);
+        if (protect.getSize() > protectedSize) {
+            Node<K, V> demoted = protect.removeFirst();
+            demoted.queue = Node.PROBATION;
+            probation.addLast(demoted);
+        }
+    }
+
+    /**
+     * 新节点加入试用段，超出容量时优先淘汰试用段队头
+     *
+     * @param node 节点
+     * @return 需要淘汰的节点，没有返回null
+     */
+    @Override
+    public Node<K, V> onInsert(Node<K, V> node) {
+        node.queue = Node.PROBATION;
+        probation.addLast(node);
+        if (probation.getSize() + protect.getSize() <= maximumSize) {
+            return null;
+        }
+        return probation.isEmpty() ? protect.removeFirst() : probation.removeFirst();
+    }
+
+    /**
+     * 从所在段中删除节点
+     *
+     * @param node 节点
+     */
+    @Override
+    public void onRemove(Node<K, V> node) {
+        if (node.queue == Node.PROTECTED) {
+            protect.remove(node);
+        } else {
+            probation.remove(node);
+        }
+    }
+}
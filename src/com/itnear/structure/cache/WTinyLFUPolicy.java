@@ -0,0 +1,138 @@
+package com.itnear.structure.cache;
+
+/**
+ * 描述：淘汰策略 - W-TinyLFU
+ * 新节点先进入占容量1%的LRU窗口，窗口溢出的节点作为候选者与主区（SLRU）试用段队头的节点比较
+ * Count-Min Sketch估计的访问频率，频率更高者留下。窗口吸收突发的新数据，频率过滤挡住只访问一次的数据
+ * 作者：NearJC
+ * 时间：2020/02/16
+ */
+public class WTinyLFUPolicy<K, V> implements EvictionPolicy<K, V> {
+
+    /**
+     * 窗口占比
+     */
+    private static final double WINDOW_RATIO = 0.01;
+
+    /**
+     * 主区中保护段占比
+     */
+    private static final double PROTECTED_RATIO = 0.8;
+
+    /**
+     * 窗口、主区、主区保护段最大容量
+     */
+    private final int windowSize, mainSize, protectedSize;
+
+    /**
+     * 窗口、试用段、保护段
+     */
+    private final NodeList<K, V> window, probation, protect;
+
+    /**
+     * 访问频率
+     */
+    private final CountMinSketch sketch;
+
+    public WTinyLFUPolicy(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("容量必须大于0");
+        }
+        this.windowSize = Math.max(1, (int) (maximumSize * WINDOW_RATIO));
+        this.mainSize = maximumSize - windowSize;
+        this.protectedSize = (int) (mainSize * PROTECTED_RATIO);
+        this.window = new NodeList<>();
+        this.probation = new NodeList<>();
+        this.protect = new NodeList<>();
+        this.sketch = new CountMinSketch(maximumSize);
+    }
+
+    /**
+     * 未命中也计入访问频率
+     *
+     * @param key 键
+     */
+    @Override
+    public void onMiss(K key) {
+        sketch.increment(key.hashCode());
+    }
+
+    /**
+     * 命中时计入访问频率并调整所在队列
+     *
+     * @param node 节点
+     */
+    @Override
+    public void onHit(Node<K, V> node) {
+        sketch.increment(node.key.hashCode());
+        switch (node.queue) {
+            case Node.WINDOW:
+                window.moveToLast(node);
+                break;
+            case Node.PROTECTED:
+                protect.moveToLast(node);
+                break;
+            default:
+                // 试用段命中后晋升到保护段，保护段溢出时降级回试用段
+                probation.remove(node);
+                node.queue = Node.PROTECTED;
+                protect.addLast(node);
+                if (protect.getSize() > protectedSize) {
+                    Node<K, V> demoted = protect.removeFirst();
+                    demoted.queue = Node.PROBATION;
+                    probation.addLast(demoted);
+                }
+        }
+    }
+
+    /**
+     * 新节点进入窗口，窗口溢出时候选者与主区淘汰对象比较频率
+     *
+     * @param node 节点
+     * @return 需要淘汰的节点，没有返回null
+     */
+    @Override
+    public Node<K, V> onInsert(Node<K, V> node) {
+        node.queue = Node.WINDOW;
+        window.addLast(node);
+        if (window.getSize() <= windowSize) {
+            return null;
+        }
+
+        Node<K, V> candidate = window.removeFirst();
+        candidate.queue = Node.PROBATION;
+        probation.addLast(candidate);
+        if (probation.getSize() + protect.getSize() <= mainSize) {
+            return null;
+        }
+
+        Node<K, V> victim = probation.getFirst();
+        if (victim == candidate) {
+            victim = protect.getFirst();
+        }
+        Node<K, V> evicted = victim != null
+                && sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode())
+                ? victim : candidate;
+        onRemove(evicted);
+        return evicted;
+    }
+
+    /**
+     * 从所在队列中删除节点
+     *
+     * @param node 节点
+     */
+    @Override
+    public void onRemove(Node<K, V> node) {
+        switch (node.queue) {
+            case Node.WINDOW:
+                window.remove(node);
+                break;
+            case Node.PROTECTED:
+                protect.remove(node);
+                break;
+            default:
+                probation.remove(node);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.itnear.structure.filter;
+
+import com.itnear.structure.hash.HashFunctions;
+
+/**
+ * 描述：分块布隆过滤器，每个元素的k个位都落在同一个512位（64字节，一条缓存行）的块内，一次查询只访问一条缓存行
+ * 作者：NearJC
+ * 时间：2020/02/17
+ */
+public class BloomFilter<E> implements Filter<E> {
+
+    /**
+     * 每块的long个数（512位）
+     */
+    private static final int BLOCK_WORDS = 8;
+
+    /**
+     * 位数组
+     */
+    private final long[] bits;
+
+    /**
+     * 块数
+     */
+    private final int blocks;
+
+    /**
+     * 哈希函数个数
+     */
+    private final int k;
+
+    /**
+     * @param expectedInsertions 预计元素个数
+     * @param fpp                期望误判率
+     */
+    public BloomFilter(int expectedInsertions, double fpp) {
+        int[] layout = optimalBlocks(expectedInsertions, fpp, 512);
+        this.blocks = layout[0];
+        this.bits = new long[blocks * BLOCK_WORDS];
+        this.k = layout[1];
+    }
+
+    /**
+     * 添加元素
+     *
+     * @param e 元素
+     */
+    @Override
+    public void add(E e) {
+        long h = hash(e);
+        int base = block(h, blocks) * BLOCK_WORDS;
+        for (int i = 0; i < k; i++) {
+            h = next(h);
+            int pos = (int) (h >>> 55);
+            bits[base + (pos >>> 6)] |= 1L << pos;
+        }
+    }
+
+    /**
+     * 判断元素是否可能存在
+     *
+     * @param e 元素
+     * @return 一定不存在返回false，可能存在返回true
+     */
+    @Override
+    public boolean mightContain(E e) {
+        long h = hash(e);
+        int base = block(h, blocks) * BLOCK_WORDS;
+        for (int i = 0; i < k; i++) {
+            h = next(h);
+            int pos = (int) (h >>> 55);
+            if ((bits[base + (pos >>> 6)] & (1L << pos)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 普通布隆过滤器的位被多个元素共享，无法清除，删除后该元素仍可能被判为存在，
+     * 需要删除时使用CountingBloomFilter
+     *
+     * @param e 元素
+     */
+    @Override
+    public void remove(E e) {
+    }
+
+    /**
+     * 获取占用内存（字节）
+     *
+     * @return 字节数
+     */
+    public long getMemory() {
+        return bits.length * 8L;
+    }
+
+    /**
+     * 根据元素个数n和误判率p计算位数 m = -n * ln(p) / (ln2)^2
+     *
+     * @param n 元素个数
+     * @param p 误判率
+     * @return 位数
+     */
+    static long optimalBits(int n, double p) {
+        if (n <= 0 || p <= 0 || p >= 1) {
+            throw new IllegalArgumentException("元素个数必须大于0，误判率必须在(0,1)之间");
+        }
+        return (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+    }
+
+    /**
+     * 根据元素个数n和位数m计算哈希函数个数 k = m / n * ln2
+     *
+     * @param n 元素个数
+     * @param m 位数
+     * @return 哈希函数个数
+     */
+    static int optimalK(int n, long m) {
+        return Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+    }
+
+    /**
+     * 计算分块布隆过滤器满足误判率p所需的块数和哈希函数个数。
+     * 元素按块分布不均匀，装得多的块误判率高出很多，按不分块的公式分配位数会明显超出目标误判率，
+     * 这里按每块元素个数服从泊松分布计算实际误判率，二分查找满足要求的最少块数
+     *
+     * @param n         元素个数
+     * @param p         误判率
+     * @param blockBits 每块的位数（计数器个数）
+     * @return 依次为块数、哈希函数个数
+     */
+    static int[] optimalBlocks(int n, double p, int blockBits) {
+        long m = optimalBits(n, p);
+        long lo = Math.max(1, (m + blockBits - 1) / blockBits), hi = lo;
+        while (blockedFpp(n, hi, blockBits, optimalK(n, hi * blockBits, hi, blockBits)) > p) {
+            lo = hi + 1;
+            hi *= 2;
+        }
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (blockedFpp(n, mid, blockBits, optimalK(n, mid * blockBits, mid, blockBits)) > p) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        if (lo > Integer.MAX_VALUE / 8) {
+            throw new IllegalArgumentException("元素个数过多或误判率过低");
+        }
+        return new int[]{(int) lo, optimalK(n, lo * blockBits, lo, blockBits)};
+    }
+
+    /**
+     * 选出使分块误判率最低的哈希函数个数，块内位数有限，最优值比不分块时小
+     *
+     * @param n         元素个数
+     * @param m         总位数
+     * @param blocks    块数
+     * @param blockBits 每块的位数
+     * @return 哈希函数个数
+     */
+    private static int optimalK(int n, long m, long blocks, int blockBits) {
+        int best = 1;
+        double bestFpp = blockedFpp(n, blocks, blockBits, best);
+        int maxK = Math.min(optimalK(n, m), 32);
+        for (int k = 2; k <= maxK; k++) {
+            double fpp = blockedFpp(n, blocks, blockBits, k);
+            if (fpp < bestFpp) {
+                best = k;
+                bestFpp = fpp;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 分块布隆过滤器的误判率：块内元素个数i服从均值n/blocks的泊松分布，
+     * 装有i个元素的块误判率为 (1 - (1 - 1/B)^(k*i))^k
+     *
+     * @param n         元素个数
+     * @param blocks    块数
+     * @param blockBits 每块的位数B
+     * @param k         哈希函数个数
+     * @return 误判率
+     */
+    static double blockedFpp(int n, long blocks, int blockBits, int k) {
+        double lambda = (double) n / blocks;
+        double q = Math.log1p(-1.0 / blockBits);
+        int limit = (int) (lambda + 12 * Math.sqrt(lambda) + 20);
+
+        // 从众数开始向两边累加，避免均值较大时exp(-lambda)下溢
+        int mode = (int) lambda;
+        double logMode = -lambda + mode * Math.log(lambda) - logFactorial(mode);
+        double fpp = 0;
+        double pmf = Math.exp(logMode);
+        for (int i = mode; i <= limit; i++) {
+            fpp += pmf * Math.pow(-Math.expm1(q * k * i), k);
+            pmf *= lambda / (i + 1);
+        }
+        pmf = Math.exp(logMode);
+        for (int i = mode - 1; i >= 0; i--) {
+            pmf *= (i + 1) / lambda;
+            fpp += pmf * Math.pow(-Math.expm1(q * k * i), k);
+        }
+        return fpp;
+    }
+
+    /**
+     * ln(n!)
+     *
+     * @param n 非负整数
+     * @return ln(n!)
+     */
+    private static double logFactorial(int n) {
+        double res = 0;
+        for (int i = 2; i <= n; i++) {
+            res += Math.log(i);
+        }
+        return res;
+    }
+
+    /**
+     * 元素的64位哈希值
+     *
+     * @param e 元素
+     * @return 哈希值
+     */
+    static long hash(Object e) {
+        return HashFunctions.fmix64(e.hashCode());
+    }
+
+    /**
+     * 由哈希值的高32位选择块，用乘法代替取模
+     *
+     * @param h      哈希值
+     * @param blocks 块数
+     * @return 块索引
+     */
+    static int block(long h, int blocks) {
+        return (int) (((h >>> 32) * blocks) >>> 32);
+    }
+
+    /**
+     * 由上一个哈希值推出块内的下一个位置，取高位使用
+     *
+     * @param h 哈希值
+     * @return 新的哈希值
+     */
+    static long next(long h) {
+        return h * 0x9E3779B97F4A7C15L + 0x632BE59BD9B4E019L;
+    }
+}
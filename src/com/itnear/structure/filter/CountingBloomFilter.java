@@ -0,0 +1,116 @@
+package com.itnear.structure.filter;
+
+/**
+ * 描述：分块计数布隆过滤器，用4位计数器代替位，支持删除。每块64字节存放128个计数器，
+ * 计数器饱和（15）后不再增减，只会多出误判，不会漏判
+ * 作者：NearJC
+ * 时间：2020/02/17
+ */
+public class CountingBloomFilter<E> implements Filter<E> {
+
+    /**
+     * 每块的long个数（128个4位计数器）
+     */
+    private static final int BLOCK_WORDS = 8;
+
+    /**
+     * 计数器饱和值
+     */
+    private static final long MAX = 0xFL;
+
+    /**
+     * 计数器数组，每个long存放16个计数器
+     */
+    private final long[] counters;
+
+    /**
+     * 块数
+     */
+    private final int blocks;
+
+    /**
+     * 哈希函数个数
+     */
+    private final int k;
+
+    /**
+     * @param expectedInsertions 预计元素个数
+     * @param fpp                期望误判率
+     */
+    public CountingBloomFilter(int expectedInsertions, double fpp) {
+        int[] layout = BloomFilter.optimalBlocks(expectedInsertions, fpp, 128);
+        this.blocks = layout[0];
+        this.counters = new long[blocks * BLOCK_WORDS];
+        this.k = layout[1];
+    }
+
+    /**
+     * 添加元素，对应计数器加1
+     *
+     * @param e 元素
+     */
+    @Override
+    public void add(E e) {
+        long h = BloomFilter.hash(e);
+        int base = BloomFilter.block(h, blocks) * BLOCK_WORDS;
+        for (int i = 0; i < k; i++) {
+            h = BloomFilter.next(h);
+            int pos = (int) (h >>> 57);
+            int index = base + (pos >>> 4);
+            int shift = (pos & 15) << 2;
+            if ((counters[index] >>> shift & MAX) != MAX) {
+                counters[index] += 1L << shift;
+            }
+        }
+    }
+
+    /**
+     * 判断元素是否可能存在
+     *
+     * @param e 元素
+     * @return 一定不存在返回false，可能存在返回true
+     */
+    @Override
+    public boolean mightContain(E e) {
+        long h = BloomFilter.hash(e);
+        int base = BloomFilter.block(h, blocks) * BLOCK_WORDS;
+        for (int i = 0; i < k; i++) {
+            h = BloomFilter.next(h);
+            int pos = (int) (h >>> 57);
+            if ((counters[base + (pos >>> 4)] >>> ((pos & 15) << 2) & MAX) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 删除元素，对应计数器减1。调用方需保证元素确实添加过
+     *
+     * @param e 元素
+     */
+    @Override
+    public void remove(E e) {
+        long h = BloomFilter.hash(e);
+        int base = BloomFilter.block(h, blocks) * BLOCK_WORDS;
+        for (int i = 0; i < k; i++) {
+            h = BloomFilter.next(h);
+            int pos = (int) (h >>> 57);
+            int index = base + (pos >>> 4);
+            int shift = (pos & 15) << 2;
+            long count = counters[index] >>> shift & MAX;
+            if (count != 0 && count != MAX) {
+                counters[index] -= 1L << shift;
+            }
+        }
+    }
+
+    /**
+     * 获取占用内存（字节）
+     *
+     * @return 字节数
+     */
+    public long getMemory() {
+        return counters.length * 8L;
+    }
+}
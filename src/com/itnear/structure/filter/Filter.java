@@ -0,0 +1,15 @@
+package com.itnear.structure.filter;
+
+/**
+ * 描述：概率过滤器接口，mightContain返回false时元素一定不存在，返回true时元素可能存在
+ * 作者：NearJC
+ * 时间：2020/02/17
+ */
+public interface Filter<E> {
+
+    void add(E e);
+
+    boolean mightContain(E e);
+
+    void remove(E e);
+}
@@ -0,0 +1,133 @@
+package com.itnear.structure.filter;
+
+import com.itnear.structure.map.Map;
+
+import java.util.function.BiFunction;
+
+/**
+ * 描述：带过滤器的映射，过滤器判定键一定不存在时直接返回，不访问底层映射，适合查询大多未命中的场景
+ * 作者：NearJC
+ * 时间：2020/02/17
+ */
+public class FilteredMap<K, V> implements Map<K, V> {
+
+    /**
+     * 底层映射
+     */
+    private Map<K, V> map;
+
+    /**
+     * 过滤器，删除元素时需要CountingBloomFilter才能同步清除
+     */
+    private Filter<K> filter;
+
+    /**
+     * @param map    底层映射，必须为空
+     * @param filter 过滤器
+     */
+    public FilteredMap(Map<K, V> map, Filter<K> filter) {
+        if (!map.isEmpty()) {
+            throw new IllegalArgumentException("底层映射必须为空");
+        }
+        this.map = map;
+        this.filter = filter;
+    }
+
+    /**
+     * 使用计数布隆过滤器
+     *
+     * @param map                底层映射，必须为空
+     * @param expectedInsertions 预计元素个数
+     * @param fpp                期望误判率
+     */
+    public FilteredMap(Map<K, V> map, int expectedInsertions, double fpp) {
+        this(map, new CountingBloomFilter<>(expectedInsertions, fpp));
+    }
+
+    /**
+     * 添加元素，键确实新增时才写入过滤器，保证计数器与底层映射一致
+     *
+     * @param key   键
+     * @param value 值
+     */
+    @Override
+    public void add(K key, V value) {
+        int size = map.getSize();
+        map.add(key, value);
+        if (map.getSize() > size) {
+            filter.add(key);
+        }
+    }
+
+    /**
+     * 根据键key删除元素，键确实被删除时才从过滤器中删除
+     *
+     * @param key 键
+     * @return 删除的元素值
+     */
+    @Override
+    public V remove(K key) {
+        if (!filter.mightContain(key)) {
+            return null;
+        }
+
+        int size = map.getSize();
+        V ret = map.remove(key);
+        if (map.getSize() < size) {
+            filter.remove(key);
+        }
+        return ret;
+    }
+
+    @Override
+    public boolean contains(K key) {
+        return filter.mightContain(key) && map.contains(key);
+    }
+
+    @Override
+    public V get(K key) {
+        return filter.mightContain(key) ? map.get(key) : null;
+    }
+
+    @Override
+    public void set(K key, V newValue) {
+        if (!filter.mightContain(key)) {
+            throw new IllegalArgumentException(key + "不存在");
+        }
+        map.set(key, newValue);
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        return filter.mightContain(key) ? map.getOrDefault(key, defaultValue) : defaultValue;
+    }
+
+    /**
+     * 交给底层映射的compute一次完成，根据元素个数的变化同步过滤器
+     *
+     * @param key               键
+     * @param remappingFunction 计算函数
+     * @return 新值
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int size = map.getSize();
+        V ret = map.compute(key, remappingFunction);
+        if (map.getSize() > size) {
+            filter.add(key);
+        } else if (map.getSize() < size) {
+            filter.remove(key);
+        }
+        return ret;
+    }
+
+    @Override
+    public int getSize() {
+        return map.getSize();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+}
@@ -0,0 +1,97 @@
+package com.itnear.structure.filter;
+
+import com.itnear.structure.set.Set;
+
+/**
+ * 描述：带过滤器的集合，过滤器判定一定不存在时直接返回，不访问底层集合，适合查询大多未命中的场景
+ * 作者：NearJC
+ * 时间：2020/02/17
+ */
+public class FilteredSet<E> implements Set<E> {
+
+    /**
+     * 底层集合
+     */
+    private Set<E> set;
+
+    /**
+     * 过滤器，删除元素时需要CountingBloomFilter才能同步清除
+     */
+    private Filter<E> filter;
+
+    /**
+     * @param set    底层集合，必须为空
+     * @param filter 过滤器
+     */
+    public FilteredSet(Set<E> set, Filter<E> filter) {
+        if (!set.isEmpty()) {
+            throw new IllegalArgumentException("底层集合必须为空");
+        }
+        this.set = set;
+        this.filter = filter;
+    }
+
+    /**
+     * 使用计数布隆过滤器
+     *
+     * @param set                底层集合，必须为空
+     * @param expectedInsertions 预计元素个数
+     * @param fpp                期望误判率
+     */
+    public FilteredSet(Set<E> set, int expectedInsertions, double fpp) {
+        this(set, new CountingBloomFilter<>(expectedInsertions, fpp));
+    }
+
+    /**
+     * 添加元素，元素确实新增时才写入过滤器，保证计数器与底层集合一致
+     *
+     * @param e 元素
+     */
+    @Override
+    public void add(E e) {
+        int size = set.getSize();
+        set.add(e);
+        if (set.getSize() > size) {
+            filter.add(e);
+        }
+    }
+
+    /**
+     * 判断是否包含元素
+     *
+     * @param e 元素
+     * @return 包含返回true，否则返回false
+     */
+    @Override
+    public boolean contains(E e) {
+        return filter.mightContain(e) && set.contains(e);
+    }
+
+    /**
+     * 删除元素，元素确实被删除时才从过滤器中删除
+     *
+     * @param e 元素
+     */
+    @Override
+    public void remove(E e) {
+        if (!filter.mightContain(e)) {
+            return;
+        }
+
+        int size = set.getSize();
+        set.remove(e);
+        if (set.getSize() < size) {
+            filter.remove(e);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return set.getSize();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return set.isEmpty();
+    }
+}
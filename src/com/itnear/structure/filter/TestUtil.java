@@ -0,0 +1,119 @@
+package com.itnear.structure.filter;
+
+import com.itnear.structure.hash.HashTable;
+import com.itnear.structure.set.AVLSet;
+import com.itnear.structure.set.Set;
+
+import java.util.Random;
+
+/**
+ * 测试类
+ */
+public class TestUtil {
+
+    /**
+     * 测量误判率：用不在过滤器中的元素查询
+     *
+     * @param filter 过滤器
+     * @param from   起始元素（包含）
+     * @param to     结束元素（不包含）
+     * @return 误判率
+     */
+    private static double testFpp(Filter<Integer> filter, int from, int to) {
+        int falsePositives = 0;
+        for (int i = from; i < to; i++) {
+            if (filter.mightContain(i)) {
+                falsePositives++;
+            }
+        }
+        return (double) falsePositives / (to - from);
+    }
+
+    /**
+     * 查询测试，查询的元素中只有hitRatio比例存在
+     *
+     * @param set      集合
+     * @param n        元素个数
+     * @param hitRatio 命中比例
+     * @return 耗时（秒）
+     */
+    private static double testContains(Set<Integer> set, int n, double hitRatio) {
+        Random random = new Random(1);
+        for (int i = 0; i < n; i++) {
+            set.add(random.nextInt(Integer.MAX_VALUE / 2));
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            int e = random.nextInt(Integer.MAX_VALUE / 2);
+            set.contains(random.nextDouble() < hitRatio ? e : e + Integer.MAX_VALUE / 2);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1000000000.0;
+    }
+
+    public static void main(String[] args) {
+        int n = 1000000;
+
+        // 误判率与内存
+        for (double fpp : new double[]{0.1, 0.01, 0.001, 0.0001}) {
+            BloomFilter<Integer> bloom = new BloomFilter<>(n, fpp);
+            CountingBloomFilter<Integer> counting = new CountingBloomFilter<>(n, fpp);
+            for (int i = 0; i < n; i++) {
+                bloom.add(i);
+                counting.add(i);
+            }
+            double bloomFpp = testFpp(bloom, n, 2 * n);
+            double countingFpp = testFpp(counting, n, 2 * n);
+            System.out.println(String.format("fpp %.4f : BloomFilter %.1f bits/key measured %.4f%%, "
+                            + "CountingBloomFilter %.1f bits/key measured %.4f%%",
+                    fpp, bloom.getMemory() * 8.0 / n, bloomFpp * 100, counting.getMemory() * 8.0 / n, countingFpp * 100));
+
+            // 实测误判率不能明显超出目标
+            if (bloomFpp > 1.5 * fpp || countingFpp > 1.5 * fpp) {
+                throw new IllegalStateException("误判率超出目标" + fpp + "：BloomFilter " + bloomFpp
+                        + "，CountingBloomFilter " + countingFpp);
+            }
+        }
+
+        // 删除一半元素后，计数布隆过滤器的误判率回落，且不会漏判剩余元素
+        CountingBloomFilter<Integer> counting = new CountingBloomFilter<>(n, 0.01);
+        for (int i = 0; i < n; i++) {
+            counting.add(i);
+        }
+        for (int i = 0; i < n; i += 2) {
+            counting.remove(i);
+        }
+        for (int i = 1; i < n; i += 2) {
+            if (!counting.mightContain(i)) {
+                throw new IllegalStateException(i + "被漏判");
+            }
+        }
+        System.out.println(String.format("CountingBloomFilter after removing half : measured %.4f%%",
+                testFpp(counting, n, 2 * n) * 100));
+
+        // 未命中为主的查询
+        double hitRatio = 0.1;
+        System.out.println(String.format("AVLSet contains (hit ratio %.0f%%) : %.3f s, FilteredSet %.3f s", hitRatio * 100,
+                testContains(new AVLSet<Integer>(), n, hitRatio),
+                testContains(new FilteredSet<Integer>(new AVLSet<>(), n, 0.01), n, hitRatio)));
+
+        HashTable<Integer, Integer> map = new HashTable<>();
+        FilteredMap<Integer, Integer> filteredMap = new FilteredMap<>(new HashTable<>(), n, 0.01);
+        for (int i = 0; i < n; i++) {
+            map.add(i, i);
+            filteredMap.add(i, i);
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            map.get(i % 10 == 0 ? i : i + n);
+        }
+        double mapTime = (System.nanoTime() - startTime) / 1000000000.0;
+        startTime = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            filteredMap.get(i % 10 == 0 ? i : i + n);
+        }
+        double filteredTime = (System.nanoTime() - startTime) / 1000000000.0;
+        System.out.println(String.format("HashTable get (hit ratio 10%%) : %.3f s, FilteredMap %.3f s", mapTime, filteredTime));
+    }
+}
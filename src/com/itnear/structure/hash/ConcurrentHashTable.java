@@ -0,0 +1,231 @@
+package com.itnear.structure.hash;
+
+import com.itnear.structure.map.Map;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 描述：哈希表 - 分段锁并发版本，每段一把读写锁，读操作之间互不阻塞。
+ * 分段内部是渐进式扩容的哈希表，其普通读操作会顺带迁移桶，因此读锁下使用不迁移的只读查找
+ * 作者：NearJC
+ * 时间：2020/02/12
+ */
+public class ConcurrentHashTable<K, V> implements Map<K, V> {
+
+    /**
+     * 默认分段数（2的幂）
+     */
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 64;
+
+    /**
+     * 分段，每段是一个渐进式扩容的哈希表，各自维护容量
+     */
+    private HashTable<K, V>[] segments;
+
+    /**
+     * 分段读写锁
+     */
+    private ReentrantReadWriteLock[] locks;
+
+    /**
+     * 分段索引位移量
+     */
+    private int segmentShift;
+
+    /**
+     * 哈希函数
+     */
+    private final HashFunction<K> hashFunction;
+
+    public ConcurrentHashTable(int concurrencyLevel, HashFunction<K> hashFunction) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("分段数必须大于0");
+        }
+
+        int n = 1;
+        while (n < concurrencyLevel) {
+            n <<= 1;
+        }
+        @SuppressWarnings("unchecked")
+        HashTable<K, V>[] segments = (HashTable<K, V>[]) new HashTable<?, ?>[n];
+        this.segments = segments;
+        this.locks = new ReentrantReadWriteLock[n];
+        for (int i = 0; i < n; i++) {
+            segments[i] = new HashTable<>(true, hashFunction);
+            locks[i] = new ReentrantReadWriteLock();
+        }
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(n);
+        this.hashFunction = hashFunction;
+    }
+
+    public ConcurrentHashTable(int concurrencyLevel) {
+        this(concurrencyLevel, HashFunctions.identity());
+    }
+
+    public ConcurrentHashTable() {
+        this(DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * 获取元素个数，各分段依次加读锁统计，并发修改时为近似值
+     *
+     * @return 元素个数
+     */
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (int i = 0; i < segments.length; i++) {
+            locks[i].readLock().lock();
+            try {
+                size += segments[i].getSize();
+            } finally {
+                locks[i].readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 判断哈希表是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * 添加元素
+     *
+     * @param key   键
+     * @param value 值
+     */
+    @Override
+    public void add(K key, V value) {
+        int i = segmentFor(key);
+        locks[i].writeLock().lock();
+        try {
+            segments[i].add(key, value);
+        } finally {
+            locks[i].writeLock().unlock();
+        }
+    }
+
+    /**
+     * 根据键key删除元素
+     *
+     * @param key 键
+     * @return 删除的元素值
+     */
+    @Override
+    public V remove(K key) {
+        int i = segmentFor(key);
+        locks[i].writeLock().lock();
+        try {
+            return segments[i].remove(key);
+        } finally {
+            locks[i].writeLock().unlock();
+        }
+    }
+
+    /**
+     * 根据键key设置值
+     *
+     * @param key      键
+     * @param newValue 值
+     */
+    @Override
+    public void set(K key, V newValue) {
+        int i = segmentFor(key);
+        locks[i].writeLock().lock();
+        try {
+            segments[i].set(key, newValue);
+        } finally {
+            locks[i].writeLock().unlock();
+        }
+    }
+
+    /**
+     * 根据键key判断是否包含元素
+     *
+     * @param key 键
+     * @return 包含返回true，否则返回false
+     */
+    @Override
+    public boolean contains(K key) {
+        int i = segmentFor(key);
+        locks[i].readLock().lock();
+        try {
+            return segments[i].containsWithoutRehash(key);
+        } finally {
+            locks[i].readLock().unlock();
+        }
+    }
+
+    /**
+     * 根据键key获取值
+     *
+     * @param key 键
+     * @return 值
+     */
+    @Override
+    public V get(K key) {
+        int i = segmentFor(key);
+        locks[i].readLock().lock();
+        try {
+            return segments[i].getWithoutRehash(key, null);
+        } finally {
+            locks[i].readLock().unlock();
+        }
+    }
+
+    /**
+     * 根据键key获取值，键不存在时返回defaultValue
+     *
+     * @param key          键
+     * @param defaultValue 默认值
+     * @return 值
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int i = segmentFor(key);
+        locks[i].readLock().lock();
+        try {
+            return segments[i].getWithoutRehash(key, defaultValue);
+        } finally {
+            locks[i].readLock().unlock();
+        }
+    }
+
+    /**
+     * 在分段写锁内原子地执行compute
+     *
+     * @param key               键
+     * @param remappingFunction 计算函数
+     * @return 新值
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int i = segmentFor(key);
+        locks[i].writeLock().lock();
+        try {
+            return segments[i].compute(key, remappingFunction);
+        } finally {
+            locks[i].writeLock().unlock();
+        }
+    }
+
+    /**
+     * 根据键key计算分段索引，取乘法散列的高位，与分段内部的取模相互独立
+     *
+     * @param key 键
+     * @return 分段索引
+     */
+    private int segmentFor(K key) {
+        int h = hashFunction.hash(key) * 0x9E3779B9;
+        return segmentShift == 32 ? 0 : h >>> segmentShift;
+    }
+}
@@ -0,0 +1,451 @@
+package com.itnear.structure.hash;
+
+import com.itnear.structure.map.Map;
+
+import java.util.Arrays;
+
+/**
+ * 描述：哈希表 - 布谷鸟哈希（两个哈希函数，每桶4个槽位，溢出区stash）。
+ * 大量键哈希值完全相同时任何种子都无法安置，此时溢出区不再限长，这些键退化为顺序查找
+ * 作者：NearJC
+ * 时间：2020/02/13
+ */
+public class CuckooHashTable<K, V> implements Map<K, V> {
+
+    /**
+     * 每个桶的槽位数
+     */
+    private static final int SLOTS = 4;
+
+    /**
+     * 默认桶数（2的幂）
+     */
+    private static final int DEFAULT_BUCKETS = 4;
+
+    /**
+     * 溢出区初始大小，未退化时溢出区满即触发重新哈希
+     */
+    private static final int STASH_SIZE = 4;
+
+    /**
+     * 单次插入最多踢出次数
+     */
+    private static final int MAX_KICKS = 128;
+
+    /**
+     * 连续重新哈希失败的上限，每失败4次桶数翻倍
+     */
+    private static final int MAX_REHASH = 8;
+
+    /**
+     * 负载因子上限
+     */
+    private static final double upperTol = 0.9;
+
+    /**
+     * 负载因子下限
+     */
+    private static final double lowerTol = 0.2;
+
+    /**
+     * 键数组，桶b占用[b * SLOTS, b * SLOTS + SLOTS)
+     */
+    private K[] keys;
+
+    /**
+     * 值数组
+     */
+    private V[] values;
+
+    /**
+     * 溢出区
+     */
+    private K[] stashKeys;
+    private V[] stashValues;
+
+    /**
+     * 溢出区元素个数
+     */
+    private int stashSize;
+
+    /**
+     * 桶掩码（桶数-1）
+     */
+    private int mask;
+
+    /**
+     * 哈希种子，重新哈希时更换
+     */
+    private long seed;
+
+    /**
+     * 随机数状态，用于选择被踢出的元素
+     */
+    private long random;
+
+    /**
+     * 插入失败时未能安置的元素
+     */
+    private K evictedKey;
+    private V evictedValue;
+
+    /**
+     * 元素个数
+     */
+    private int size;
+
+    public CuckooHashTable() {
+        this.random = System.nanoTime() | 1;
+        init(DEFAULT_BUCKETS);
+        this.size = 0;
+    }
+
+    /**
+     * 获取元素个数
+     *
+     * @return 元素个数
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 判断哈希表是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 获取容量（槽位总数，不含溢出区）
+     *
+     * @return 容量
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * 添加元素，键已存在时修改原来的值
+     *
+     * @param key   键
+     * @param value 值
+     */
+    @Override
+    public void add(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("键不能为null");
+        }
+
+        long h = hash(key);
+        int index = indexOf(key, h);
+        if (index >= 0) {
+            values[index] = value;
+            return;
+        }
+        index = stashIndexOf(key);
+        if (index >= 0) {
+            stashValues[index] = value;
+            return;
+        }
+
+        // 判断是否扩容
+        if (size + 1 > upperTol * keys.length) {
+            rehash((mask + 1) * 2, key, value);
+        } else if (!insert(key, value, false)) {
+            rehash(mask + 1, evictedKey, evictedValue);
+        }
+        size++;
+    }
+
+    /**
+     * 根据键key删除元素
+     *
+     * @param key 键
+     * @return 删除的元素值
+     */
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+
+        V ret;
+        int index = indexOf(key, hash(key));
+        if (index >= 0) {
+            ret = values[index];
+            keys[index] = null;
+            values[index] = null;
+        } else {
+            index = stashIndexOf(key);
+            if (index < 0) {
+                return null;
+            }
+            ret = stashValues[index];
+            stashSize--;
+            stashKeys[index] = stashKeys[stashSize];
+            stashValues[index] = stashValues[stashSize];
+            stashKeys[stashSize] = null;
+            stashValues[stashSize] = null;
+        }
+        size--;
+
+        // 判断是否缩容
+        if (size < lowerTol * keys.length && mask + 1 > DEFAULT_BUCKETS) {
+            rehash((mask + 1) / 2, null, null);
+        }
+        return ret;
+    }
+
+    /**
+     * 根据键key设置值
+     *
+     * @param key      键
+     * @param newValue 值
+     */
+    @Override
+    public void set(K key, V newValue) {
+        if (key != null) {
+            int index = indexOf(key, hash(key));
+            if (index >= 0) {
+                values[index] = newValue;
+                return;
+            }
+            index = stashIndexOf(key);
+            if (index >= 0) {
+                stashValues[index] = newValue;
+                return;
+            }
+        }
+        throw new IllegalArgumentException(key + "不存在");
+    }
+
+    /**
+     * 根据键key判断是否包含元素
+     *
+     * @param key 键
+     * @return 包含返回true，否则返回false
+     */
+    @Override
+    public boolean contains(K key) {
+        return key != null && (indexOf(key, hash(key)) >= 0 || stashIndexOf(key) >= 0);
+    }
+
+    /**
+     * 根据键key获取值，最多查看两个桶和溢出区
+     *
+     * @param key 键
+     * @return 值
+     */
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+
+        int index = indexOf(key, hash(key));
+        if (index >= 0) {
+            return values[index];
+        }
+        index = stashIndexOf(key);
+        return index < 0 ? null : stashValues[index];
+    }
+
+    /**
+     * 在键key的两个候选桶中查找
+     *
+     * @param key 键
+     * @param h   哈希值
+     * @return 槽位索引，不存在返回-1
+     */
+    private int indexOf(K key, long h) {
+        int b1 = bucket1(h) * SLOTS;
+        for (int i = b1; i < b1 + SLOTS; i++) {
+            if (key.equals(keys[i])) {
+                return i;
+            }
+        }
+        int b2 = bucket2(h) * SLOTS;
+        for (int i = b2; i < b2 + SLOTS; i++) {
+            if (key.equals(keys[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 在溢出区中查找
+     *
+     * @param key 键
+     * @return 溢出区索引，不存在返回-1
+     */
+    private int stashIndexOf(K key) {
+        for (int i = 0; i < stashSize; i++) {
+            if (key.equals(stashKeys[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 插入不存在的键，候选桶已满时随机踢出一个元素并为其重新安置，
+     * 踢出次数用尽后放入溢出区
+     *
+     * @param key       键
+     * @param value     值
+     * @param growStash 溢出区满时是否扩大溢出区，溢出区已经扩大过（退化状态）时总是扩大
+     * @return 成功返回true，溢出区也已满时返回false，未能安置的元素（可能是原有的元素）保存在evictedKey/evictedValue
+     */
+    private boolean insert(K key, V value, boolean growStash) {
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            long h = hash(key);
+            int b1 = bucket1(h) * SLOTS;
+            int b2 = bucket2(h) * SLOTS;
+            for (int i = 0; i < SLOTS; i++) {
+                if (keys[b1 + i] == null) {
+                    keys[b1 + i] = key;
+                    values[b1 + i] = value;
+                    return true;
+                }
+                if (keys[b2 + i] == null) {
+                    keys[b2 + i] = key;
+                    values[b2 + i] = value;
+                    return true;
+                }
+            }
+
+            int r = nextRandom();
+            int victim = ((r & 1) == 0 ? b1 : b2) + ((r >>> 1) & (SLOTS - 1));
+            K k = keys[victim];
+            V v = values[victim];
+            keys[victim] = key;
+            values[victim] = value;
+            key = k;
+            value = v;
+        }
+
+        if (stashSize == stashKeys.length && (growStash || stashKeys.length > STASH_SIZE)) {
+            stashKeys = Arrays.copyOf(stashKeys, stashKeys.length * 2);
+            stashValues = Arrays.copyOf(stashValues, stashValues.length * 2);
+        }
+        if (stashSize < stashKeys.length) {
+            stashKeys[stashSize] = key;
+            stashValues[stashSize] = value;
+            stashSize++;
+            return true;
+        }
+
+        evictedKey = key;
+        evictedValue = value;
+        return false;
+    }
+
+    /**
+     * 更换哈希种子并把全部元素重新插入，多次失败后扩大桶数，
+     * 最后一次尝试允许扩大溢出区，因此总能成功，不会丢失元素
+     *
+     * @param buckets    新桶数
+     * @param extraKey   额外插入的键，可以为null
+     * @param extraValue 额外插入的值
+     */
+    private void rehash(int buckets, K extraKey, V extraValue) {
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        K[] oldStashKeys = stashKeys;
+        V[] oldStashValues = stashValues;
+        int oldStashSize = stashSize;
+        evictedKey = null;
+        evictedValue = null;
+
+        // 溢出区已经扩大过说明存在大量哈希值完全相同的键，换种子和扩大桶数都没有用，直接兜底
+        int first = oldStashKeys.length > STASH_SIZE ? MAX_REHASH : 0;
+        for (int attempt = first; ; attempt++) {
+            // 大量键哈希值完全相同时换种子也无法安置，最后一次尝试按原桶数把放不下的键都留在溢出区
+            boolean growStash = attempt == MAX_REHASH;
+            init(growStash ? buckets : buckets << (attempt / 4));
+
+            boolean ok = extraKey == null || insert(extraKey, extraValue, growStash);
+            for (int i = 0; ok && i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    ok = insert(oldKeys[i], oldValues[i], growStash);
+                }
+            }
+            for (int i = 0; ok && i < oldStashSize; i++) {
+                ok = insert(oldStashKeys[i], oldStashValues[i], growStash);
+            }
+            if (ok) {
+                evictedKey = null;
+                evictedValue = null;
+                return;
+            }
+        }
+    }
+
+    /**
+     * 按桶数初始化存储数组并更换哈希种子
+     *
+     * @param buckets 桶数（2的幂）
+     */
+    private void init(int buckets) {
+        this.keys = (K[]) new Object[buckets * SLOTS];
+        this.values = (V[]) new Object[buckets * SLOTS];
+        this.stashKeys = (K[]) new Object[STASH_SIZE];
+        this.stashValues = (V[]) new Object[STASH_SIZE];
+        this.stashSize = 0;
+        this.mask = buckets - 1;
+        this.seed = ((long) nextRandom() << 32) ^ nextRandom();
+    }
+
+    /**
+     * 带种子的64位哈希，低32位和高32位分别决定两个候选桶。
+     * 字符串按内容重新计算，不依赖hashCode，使hashCode相同的构造键也能分散
+     *
+     * @param key 键
+     * @return 哈希值
+     */
+    private long hash(K key) {
+        long h = seed;
+        if (key instanceof String) {
+            String s = (String) key;
+            for (int i = 0; i < s.length(); i++) {
+                h = (h ^ s.charAt(i)) * 0x100000001B3L;
+            }
+        } else {
+            h ^= key.hashCode();
+        }
+
+        // MurmurHash3 fmix64
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private int bucket1(long h) {
+        return (int) h & mask;
+    }
+
+    private int bucket2(long h) {
+        return (int) (h >>> 32) & mask;
+    }
+
+    /**
+     * xorshift随机数
+     *
+     * @return 随机数
+     */
+    private int nextRandom() {
+        random ^= random << 13;
+        random ^= random >>> 7;
+        random ^= random << 17;
+        return (int) (random >>> 32);
+    }
+}
@@ -0,0 +1,11 @@
+package com.itnear.structure.hash;
+
+/**
+ * 描述：哈希函数接口
+ * 作者：NearJC
+ * 时间：2020/02/14
+ */
+public interface HashFunction<K> {
+
+    int hash(K key);
+}
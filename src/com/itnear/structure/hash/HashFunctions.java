@@ -0,0 +1,225 @@
+package com.itnear.structure.hash;
+
+/**
+ * 描述：常用哈希函数
+ * 作者：NearJC
+ * 时间：2020/02/14
+ */
+public class HashFunctions {
+
+    private static final long P1 = 0x9E3779B185EBCA87L;
+    private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long P3 = 0x165667B19E3779F9L;
+    private static final long P4 = 0x85EBCA77C2B2AE63L;
+    private static final long P5 = 0x27D4EB2F165667C5L;
+
+    private HashFunctions() {
+    }
+
+    /**
+     * 直接使用hashCode
+     *
+     * @return 哈希函数
+     */
+    public static <K> HashFunction<K> identity() {
+        return key -> key.hashCode();
+    }
+
+    /**
+     * hashCode经过MurmurHash3的fmix32混合，每一位输入都影响每一位输出
+     *
+     * @return 哈希函数
+     */
+    public static <K> HashFunction<K> murmur3() {
+        return key -> fmix32(key.hashCode());
+    }
+
+    /**
+     * 字符串和byte数组按内容计算xxHash64，其它类型退化为hashCode的fmix64混合
+     *
+     * @return 哈希函数
+     */
+    public static <K> HashFunction<K> xxHash64() {
+        return key -> {
+            long h;
+            if (key instanceof String) {
+                h = xxHash64((String) key, 0);
+            } else if (key instanceof byte[]) {
+                h = xxHash64((byte[]) key, 0);
+            } else {
+                h = fmix64(key.hashCode());
+            }
+            return (int) (h ^ (h >>> 32));
+        };
+    }
+
+    /**
+     * 斐波那契哈希：hashCode乘以2^32/φ，乘积的高位质量最好，
+     * 把位序反转后，2的幂容量的表用掩码取低位即取到乘积的高位
+     *
+     * @return 哈希函数
+     */
+    public static <K> HashFunction<K> fibonacci() {
+        return key -> Integer.reverse(key.hashCode() * 0x9E3779B9);
+    }
+
+    /**
+     * MurmurHash3 32位终结混合
+     *
+     * @param h 输入
+     * @return 哈希值
+     */
+    public static int fmix32(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * MurmurHash3 64位终结混合
+     *
+     * @param h 输入
+     * @return 哈希值
+     */
+    public static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * byte数组的xxHash64
+     *
+     * @param data 数据
+     * @param seed 种子
+     * @return 哈希值
+     */
+    public static long xxHash64(byte[] data, long seed) {
+        return xxHash64((Object) data, data.length, seed);
+    }
+
+    /**
+     * 字符串的xxHash64，按UTF-16LE字节序列计算，不产生临时数组
+     *
+     * @param s    字符串
+     * @param seed 种子
+     * @return 哈希值
+     */
+    public static long xxHash64(String s, long seed) {
+        return xxHash64(s, s.length() * 2, seed);
+    }
+
+    /**
+     * xxHash64主体
+     *
+     * @param in   byte[]或String
+     * @param len  字节长度
+     * @param seed 种子
+     * @return 哈希值
+     */
+    private static long xxHash64(Object in, int len, long seed) {
+        int off = 0;
+        long h;
+        if (len >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            for (; off <= len - 32; off += 32) {
+                v1 = round(v1, getLong(in, off));
+                v2 = round(v2, getLong(in, off + 8));
+                v3 = round(v3, getLong(in, off + 16));
+                v4 = round(v4, getLong(in, off + 24));
+            }
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = mergeRound(h, v1);
+            h = mergeRound(h, v2);
+            h = mergeRound(h, v3);
+            h = mergeRound(h, v4);
+        } else {
+            h = seed + P5;
+        }
+        h += len;
+
+        for (; off <= len - 8; off += 8) {
+            h ^= round(0, getLong(in, off));
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+        }
+        if (off <= len - 4) {
+            h ^= (getInt(in, off) & 0xFFFFFFFFL) * P1;
+            h = Long.rotateLeft(h, 23) * P2 + P3;
+            off += 4;
+        }
+        for (; off < len; off++) {
+            h ^= getByte(in, off) * P5;
+            h = Long.rotateLeft(h, 11) * P1;
+        }
+
+        h ^= h >>> 33;
+        h *= P2;
+        h ^= h >>> 29;
+        h *= P3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    private static long round(long acc, long input) {
+        acc += input * P2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * P1;
+    }
+
+    private static long mergeRound(long acc, long val) {
+        acc ^= round(0, val);
+        return acc * P1 + P4;
+    }
+
+    /**
+     * 按小端序读取第off个字节起的8个字节
+     *
+     * @param in  byte[]或String
+     * @param off 字节偏移
+     * @return 数据
+     */
+    private static long getLong(Object in, int off) {
+        return (getInt(in, off) & 0xFFFFFFFFL) | ((long) getInt(in, off + 4) << 32);
+    }
+
+    /**
+     * 按小端序读取第off个字节起的4个字节
+     *
+     * @param in  byte[]或String
+     * @param off 字节偏移
+     * @return 数据
+     */
+    private static int getInt(Object in, int off) {
+        if (in instanceof String) {
+            // off总是偶数，正好对应两个字符
+            String s = (String) in;
+            return s.charAt(off >> 1) | (s.charAt((off >> 1) + 1) << 16);
+        }
+        byte[] b = (byte[]) in;
+        return (b[off] & 0xFF) | ((b[off + 1] & 0xFF) << 8) | ((b[off + 2] & 0xFF) << 16) | ((b[off + 3] & 0xFF) << 24);
+    }
+
+    /**
+     * 读取第off个字节
+     *
+     * @param in  byte[]或String
+     * @param off 字节偏移
+     * @return 数据
+     */
+    private static int getByte(Object in, int off) {
+        if (in instanceof String) {
+            char c = ((String) in).charAt(off >> 1);
+            return (off & 1) == 0 ? c & 0xFF : c >>> 8;
+        }
+        return ((byte[]) in)[off] & 0xFF;
+    }
+}
@@ -0,0 +1,113 @@
+package com.itnear.structure.hash;
+
+import com.itnear.util.FileOperation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+
+/**
+ * 描述：哈希函数质量报告 - 统计一组键在给定哈希函数下的桶占用率、链长和探测次数
+ * 作者：NearJC
+ * 时间：2020/02/14
+ */
+public class HashStats {
+
+    private HashStats() {
+    }
+
+    /**
+     * 生成报告
+     * 链长按HashTable的方式（素数容量取模）统计，探测次数按RobinHoodHashTable的方式
+     * （2的幂容量取低位，负载因子不超过0.75的线性探测）统计
+     *
+     * @param name         名称
+     * @param hashFunction 哈希函数
+     * @param keys         互不相同的键
+     * @param m            链地址法桶数
+     * @return 报告
+     */
+    public static <K> String report(String name, HashFunction<K> hashFunction, K[] keys, int m) {
+        int n = keys.length;
+        int[] hashes = new int[n];
+
+        // 哈希耗时，重复多轮取最快一轮
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long startTime = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                hashes[i] = hashFunction.hash(keys[i]);
+            }
+            best = Math.min(best, System.nanoTime() - startTime);
+        }
+
+        // 链地址法：桶占用率、最长链、链长方差
+        int[] chain = new int[m];
+        for (int h : hashes) {
+            chain[(h & 0x7fffffff) % m]++;
+        }
+        int used = 0;
+        int maxChain = 0;
+        double mean = (double) n / m;
+        double variance = 0;
+        for (int c : chain) {
+            if (c > 0) {
+                used++;
+            }
+            maxChain = Math.max(maxChain, c);
+            variance += (c - mean) * (c - mean);
+        }
+        variance /= m;
+
+        // 线性探测：平均、最大探测次数
+        int capacity = 1;
+        while (capacity * 0.75 < n) {
+            capacity <<= 1;
+        }
+        int mask = capacity - 1;
+        boolean[] occupied = new boolean[capacity];
+        long totalProbes = 0;
+        int maxProbes = 0;
+        for (int h : hashes) {
+            int index = h & mask;
+            int probes = 1;
+            while (occupied[index]) {
+                index = (index + 1) & mask;
+                probes++;
+            }
+            occupied[index] = true;
+            totalProbes += probes;
+            maxProbes = Math.max(maxProbes, probes);
+        }
+
+        // 随机哈希下链长服从泊松分布，方差约等于均值，比值越接近1越均匀
+        return String.format("%-10s %6.1f ns/key  桶占用率 %5.1f%%  平均链长 %5.2f  最长链 %4d  链长方差/均值 %7.2f  "
+                        + "平均探测 %6.2f  最大探测 %6d",
+                name, (double) best / n, 100.0 * used / m, used == 0 ? 0 : (double) n / used, maxChain,
+                variance / mean, (double) totalProbes / n, maxProbes);
+    }
+
+    public static void main(String[] args) {
+        String[] names = {"identity", "murmur3", "xxHash64", "fibonacci"};
+        @SuppressWarnings("unchecked")
+        HashFunction<Object>[] functions = (HashFunction<Object>[]) new HashFunction<?>[]{
+                HashFunctions.identity(), HashFunctions.murmur3(), HashFunctions.xxHash64(), HashFunctions.fibonacci()};
+
+        ArrayList<String> words = new ArrayList<>();
+        if (FileOperation.readFile("pride-and-prejudice.txt", words)) {
+            String[] keys = new LinkedHashSet<>(words).toArray(new String[0]);
+            System.out.println("Pride and Prejudice distinct words: " + keys.length);
+            for (int i = 0; i < functions.length; i++) {
+                System.out.println(report(names[i], functions[i], keys, 769));
+            }
+        }
+
+        Integer[] keys = new Integer[100000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i * 1024;
+        }
+        System.out.println("Integer keys i * 1024: " + keys.length);
+        for (int i = 0; i < functions.length; i++) {
+            System.out.println(report(names[i], functions[i], keys, 12289));
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.itnear.structure.hash;
 
+import com.itnear.structure.map.Map;
+
+import java.util.Arrays;
+import java.util.Random;
 import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * 描述：哈希表
  * 作者：NearJC
  * 时间：2020/02/09
  */
-public class HashTable<K, V> {
+public class HashTable<K, V> implements Map<K, V> {
 
     /**
      * 容量数组
@@ -26,10 +32,15 @@ public class HashTable<K, V> {
      */
     private static final int lowerTol = 2;
 
+    /**
+     * 渐进式扩容时每次操作迁移的桶数
+     */
+    private static final int rehashStep = 4;
+
     /**
      * 动态容量索引
      */
-    private static int capacityIndex = 0;
+    private int capacityIndex = 0;
 
     /**
      * 哈希表结构
@@ -46,13 +57,54 @@ public class HashTable<K, V> {
      */
     private int size;
 
-    public HashTable() {
+    /**
+     * 是否渐进式扩容/缩容
+     */
+    private final boolean incremental;
+
+    /**
+     * 迁移中的旧哈希表，未迁移时为null
+     */
+    private TreeMap<K, V> oldHashTable[];
+
+    /**
+     * 旧哈希表容量
+     */
+    private int oldM;
+
+    /**
+     * 迁移进度，旧哈希表中索引小于rehashIndex的桶已迁移完成
+     */
+    private int rehashIndex;
+
+    /**
+     * 哈希函数
+     */
+    private final HashFunction<K> hashFunction;
+
+    /**
+     * @param incremental  为true时扩容/缩容不一次性迁移全部元素，
+     *                     而是在后续每次操作中迁移rehashStep个桶，新旧两张表同时有效
+     * @param hashFunction 哈希函数
+     */
+    public HashTable(boolean incremental, HashFunction<K> hashFunction) {
         this.M = capacity[capacityIndex];
         this.size = 0;
+        this.incremental = incremental;
+        this.hashFunction = hashFunction;
         hashTable = new TreeMap[M];
-        for (int i = 0; i < M; i++) {
-            hashTable[i] = new TreeMap<>();
-        }
+    }
+
+    public HashTable(boolean incremental) {
+        this(incremental, HashFunctions.identity());
+    }
+
+    public HashTable(HashFunction<K> hashFunction) {
+        this(false, hashFunction);
+    }
+
+    public HashTable() {
+        this(false);
     }
 
     /**
@@ -60,18 +112,31 @@ public class HashTable<K, V> {
      *
      * @return 元素个数
      */
+    @Override
     public int getSize() {
         return size;
     }
 
+    /**
+     * 判断哈希表是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
     /**
      * 添加元素
      *
      * @param key   键
      * @param value 值
      */
+    @Override
     public void add(K key, V value) {
-        TreeMap<K, V> map = hashTable[hash(key)];
+        rehash(rehashStep);
+        TreeMap<K, V> map = getOrCreateBucket(key);
         if (map.containsKey(key)) {
             map.put(key, value);
         } else {
@@ -92,10 +157,12 @@ public class HashTable<K, V> {
      * @param key 键
      * @return 删除的元素值
      */
+    @Override
     public V remove(K key) {
-        TreeMap<K, V> map = hashTable[hash(key)];
+        rehash(rehashStep);
+        TreeMap<K, V> map = getBucket(key);
         V ret = null;
-        if (map.containsKey(key)) {
+        if (map != null && map.containsKey(key)) {
             ret = map.remove(key);
             size--;
 
@@ -114,9 +181,11 @@ public class HashTable<K, V> {
      * @param key   键
      * @param value 值
      */
+    @Override
     public void set(K key, V value) {
-        TreeMap<K, V> map = hashTable[hash(key)];
-        if (!map.containsKey(key)) {
+        rehash(rehashStep);
+        TreeMap<K, V> map = getBucket(key);
+        if (map == null || !map.containsKey(key)) {
             throw new IllegalArgumentException(key + "不存在");
         }
         map.put(key, value);
@@ -128,8 +197,11 @@ public class HashTable<K, V> {
      * @param key 键
      * @return 包含返回true，否则返回false
      */
+    @Override
     public boolean contains(K key) {
-        return hashTable[hash(key)].containsKey(key);
+        rehash(rehashStep);
+        TreeMap<K, V> map = getBucket(key);
+        return map != null && map.containsKey(key);
     }
 
     /**
@@ -138,28 +210,176 @@ public class HashTable<K, V> {
      * @param key 键
      * @return 值
      */
+    @Override
     public V get(K key) {
-        return hashTable[hash(key)].get(key);
+        rehash(rehashStep);
+        TreeMap<K, V> map = getBucket(key);
+        return map == null ? null : map.get(key);
+    }
+
+    /**
+     * 根据键key获取值，键不存在时返回defaultValue
+     *
+     * @param key          键
+     * @param defaultValue 默认值
+     * @return 值
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        rehash(rehashStep);
+        TreeMap<K, V> map = getBucket(key);
+        return map == null ? defaultValue : map.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * 用remappingFunction根据键key和旧值（不存在时为null）计算新值，新值为null时删除该键，只需查找一次桶
+     *
+     * @param key               键
+     * @param remappingFunction 计算函数
+     * @return 新值
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        rehash(rehashStep);
+        TreeMap<K, V> map = getOrCreateBucket(key);
+        int oldSize = map.size();
+        V ret = map.compute(key, remappingFunction);
+
+        if (map.size() > oldSize) {
+            size++;
+
+            // 判断是否扩容
+            if (size >= upperTol * M && capacityIndex + 1 < capacity.length) {
+                capacityIndex++;
+                resize(capacity[capacityIndex]);
+            }
+        } else if (map.size() < oldSize) {
+            size--;
+
+            // 判断是否缩容
+            if (size < lowerTol * M && capacityIndex - 1 >= 0) {
+                capacityIndex--;
+                resize(capacity[capacityIndex]);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * 根据键key获取值，不迁移桶、不修改任何状态，多个线程可以在读锁下同时调用
+     *
+     * @param key          键
+     * @param defaultValue 键不存在时的默认值
+     * @return 值
+     */
+    V getWithoutRehash(K key, V defaultValue) {
+        TreeMap<K, V> map = getBucket(key);
+        return map == null ? defaultValue : map.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * 根据键key判断是否包含元素，不迁移桶、不修改任何状态，多个线程可以在读锁下同时调用
+     *
+     * @param key 键
+     * @return 包含返回true，否则返回false
+     */
+    boolean containsWithoutRehash(K key) {
+        TreeMap<K, V> map = getBucket(key);
+        return map != null && map.containsKey(key);
     }
 
     /**
-     * 扩容/缩容
+     * 判断是否正在迁移
+     *
+     * @return 迁移中返回true，否则返回false
+     */
+    public boolean isRehashing() {
+        return oldHashTable != null;
+    }
+
+    /**
+     * 获取键key所在的桶，迁移期间旧表中未迁移的桶仍然有效
+     *
+     * @param key 键
+     * @return 桶，不存在返回null
+     */
+    private TreeMap<K, V> getBucket(K key) {
+        if (oldHashTable != null) {
+            int index = hash(key, oldM);
+            if (index >= rehashIndex) {
+                return oldHashTable[index];
+            }
+        }
+        return hashTable[hash(key, M)];
+    }
+
+    /**
+     * 获取键key所在的桶，不存在时创建。迁移期间旧表中的桶未迁移时在旧表中创建，
+     * 否则之后的查找仍然会落到旧表，迁移到新表同一位置的元素也会被覆盖
+     *
+     * @param key 键
+     * @return 桶
+     */
+    private TreeMap<K, V> getOrCreateBucket(K key) {
+        TreeMap<K, V>[] table = hashTable;
+        int index = hash(key, M);
+        if (oldHashTable != null) {
+            int oldIndex = hash(key, oldM);
+            if (oldIndex >= rehashIndex) {
+                table = oldHashTable;
+                index = oldIndex;
+            }
+        }
+
+        if (table[index] == null) {
+            table[index] = new TreeMap<>();
+        }
+        return table[index];
+    }
+
+    /**
+     * 扩容/缩容，非渐进模式下一次性迁移全部元素
      *
      * @param newM 新容量
      */
     private void resize(int newM) {
-        TreeMap<K, V>[] newHashTable = new TreeMap[newM];
-        for (int i = 0; i < newM; i++) {
-            newHashTable[i] = new TreeMap<>();
-        }
-        int oldM = M;
+        // 上一次迁移尚未完成时先完成迁移
+        rehash(oldM);
+
+        this.oldHashTable = hashTable;
+        this.oldM = M;
+        this.rehashIndex = 0;
+        this.hashTable = new TreeMap[newM];
         this.M = newM;
-        for (int i = 0; i < oldM; i++) {
-            TreeMap<K, V> map = hashTable[i];
-            for (K key : map.keySet()) {
-                newHashTable[hash(key)].put(key, map.get(key));
+
+        if (!incremental) {
+            rehash(oldM);
+        }
+    }
+
+    /**
+     * 从旧哈希表迁移最多n个桶到新哈希表
+     *
+     * @param n 桶数
+     */
+    private void rehash(int n) {
+        for (int i = 0; i < n && oldHashTable != null; i++) {
+            TreeMap<K, V> map = oldHashTable[rehashIndex];
+            if (map != null) {
+                for (K key : map.keySet()) {
+                    int index = hash(key, M);
+                    if (hashTable[index] == null) {
+                        hashTable[index] = new TreeMap<>();
+                    }
+                    hashTable[index].put(key, map.get(key));
+                }
+                oldHashTable[rehashIndex] = null;
+            }
+
+            rehashIndex++;
+            if (rehashIndex == oldM) {
+                oldHashTable = null;
             }
-            this.hashTable = newHashTable;
         }
     }
 
@@ -167,9 +387,33 @@ public class HashTable<K, V> {
      * 哈希函数
      *
      * @param key 健
+     * @param m   容量
      * @return 索引
      */
-    private int hash(K key) {
-        return key.hashCode() & 0x7fffffff % M;
+    private int hash(K key, int m) {
+        return (hashFunction.hash(key) & 0x7fffffff) % m;
+    }
+
+    public static void main(String[] args) {
+        int n = 2000000;
+        Random random = new Random();
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt();
+        }
+
+        for (boolean incremental : new boolean[]{false, true}) {
+            HashTable<Integer, Integer> hashTable = new HashTable<>(incremental);
+            long[] latency = new long[n];
+            for (int i = 0; i < n; i++) {
+                long startTime = System.nanoTime();
+                hashTable.add(keys[i], i);
+                latency[i] = System.nanoTime() - startTime;
+            }
+            Arrays.sort(latency);
+            System.out.println((incremental ? "Incremental" : "Stop-the-world") + " add : size " + hashTable.getSize()
+                    + ", p99.9 " + latency[(int) (n * 0.999)] / 1000.0 + " us"
+                    + ", max " + latency[n - 1] / 1000000.0 + " ms");
+        }
     }
 }
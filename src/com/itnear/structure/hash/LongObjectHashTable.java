@@ -0,0 +1,311 @@
+package com.itnear.structure.hash;
+
+import java.util.Arrays;
+
+/**
+ * 描述：哈希表 - long键对象值特化版本（线性探测，键0作为空槽哨兵）
+ * 作者：NearJC
+ * 时间：2020/02/11
+ */
+public class LongObjectHashTable<V> {
+
+    /**
+     * 默认容量（2的幂）
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 负载因子上限
+     */
+    private static final double upperTol = 0.75;
+
+    /**
+     * 空槽哨兵
+     */
+    private static final long EMPTY = 0L;
+
+    /**
+     * 键数组
+     */
+    private long[] keys;
+
+    /**
+     * 值数组
+     */
+    private V[] values;
+
+    /**
+     * 哨兵键0无法放入数组，单独存储
+     */
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    /**
+     * 掩码（容量-1）
+     */
+    private int mask;
+
+    /**
+     * 元素个数
+     */
+    private int size;
+
+    public LongObjectHashTable(int capacity) {
+        int n = Integer.highestOneBit(Math.max(capacity, DEFAULT_CAPACITY) - 1) << 1;
+        this.keys = new long[n];
+        this.values = (V[]) new Object[n];
+        this.mask = n - 1;
+        this.size = 0;
+    }
+
+    public LongObjectHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 获取元素个数
+     *
+     * @return 元素个数
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 判断哈希表是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 添加元素，键已存在时修改原来的值
+     *
+     * @param key   键
+     * @param value 值
+     */
+    public void add(long key, V value) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+
+        int index = find(key);
+        if (keys[index] == key) {
+            values[index] = value;
+        } else {
+            insert(index, key, value);
+        }
+    }
+
+    /**
+     * 根据键key删除元素
+     *
+     * @param key 键
+     * @return 删除的元素值，不存在返回null
+     */
+    public V remove(long key) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                return null;
+            }
+            V ret = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return ret;
+        }
+
+        int index = find(key);
+        if (keys[index] != key) {
+            return null;
+        }
+
+        V ret = values[index];
+        shiftKeys(index);
+        size--;
+        return ret;
+    }
+
+    /**
+     * 根据键key设置值
+     *
+     * @param key   键
+     * @param value 值
+     */
+    public void set(long key, V value) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                throw new IllegalArgumentException(key + "不存在");
+            }
+            zeroValue = value;
+            return;
+        }
+
+        int index = find(key);
+        if (keys[index] != key) {
+            throw new IllegalArgumentException(key + "不存在");
+        }
+        values[index] = value;
+    }
+
+    /**
+     * 根据键key判断是否包含元素
+     *
+     * @param key 键
+     * @return 包含返回true，否则返回false
+     */
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+        return keys[find(key)] == key;
+    }
+
+    /**
+     * 根据键key获取值
+     *
+     * @param key 键
+     * @return 值，不存在返回null
+     */
+    public V get(long key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * 根据键key获取值，不存在时返回defaultValue
+     *
+     * @param key          键
+     * @param defaultValue 默认值
+     * @return 值
+     */
+    public V getOrDefault(long key, V defaultValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+
+        int index = find(key);
+        return keys[index] == key ? values[index] : defaultValue;
+    }
+
+    /**
+     * 清空哈希表，保留容量
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * 查找键key所在的槽位，不存在时返回探测链末尾的空槽
+     *
+     * @param key 键（非哨兵）
+     * @return 索引
+     */
+    private int find(long key) {
+        int index = hash(key) & mask;
+        while (keys[index] != EMPTY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * 在空槽index处插入元素，必要时扩容
+     *
+     * @param index 空槽索引
+     * @param key   键
+     * @param value 值
+     */
+    private void insert(int index, long key, V value) {
+        keys[index] = key;
+        values[index] = value;
+        size++;
+
+        // 判断是否扩容
+        if (size >= upperTol * keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * 后移删除：把探测链上后续元素前移填补空位，不留墓碑
+     *
+     * @param last 被删除的槽位
+     */
+    private void shiftKeys(int last) {
+        int index = last;
+        while (true) {
+            index = (index + 1) & mask;
+            long cur = keys[index];
+            if (cur == EMPTY) {
+                break;
+            }
+
+            // 理想位置落在(last, index]区间内的元素不能前移
+            int slot = hash(cur) & mask;
+            if (last <= index ? (last >= slot || slot > index) : (last >= slot && slot > index)) {
+                keys[last] = cur;
+                values[last] = values[index];
+                last = index;
+            }
+        }
+        keys[last] = EMPTY;
+        values[last] = null;
+    }
+
+    /**
+     * 扩容
+     *
+     * @param newCapacity 新容量
+     */
+    private void resize(int newCapacity) {
+        long[] oldKeys = keys;
+        V[] oldValues = values;
+        this.keys = new long[newCapacity];
+        this.values = (V[]) new Object[newCapacity];
+        this.mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = find(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * 哈希函数，斐波那契乘法散列后高位折叠
+     *
+     * @param key 键
+     * @return 哈希值
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    public static void main(String[] args) {
+        LongObjectHashTable<String> table = new LongObjectHashTable<>();
+        for (long i = 0; i < 100; i++) {
+            table.add(i * 1000000007L, "id-" + i);
+        }
+        System.out.println("Size: " + table.getSize());
+        System.out.println("Get 0: " + table.get(0));
+        System.out.println("Get " + 42 * 1000000007L + ": " + table.get(42 * 1000000007L));
+        System.out.println("Remove 0: " + table.remove(0));
+        System.out.println("Contains 0: " + table.contains(0));
+        System.out.println("GetOrDefault 1: " + table.getOrDefault(1, "none"));
+        System.out.println("Size: " + table.getSize());
+    }
+}
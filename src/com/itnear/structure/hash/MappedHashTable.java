@@ -0,0 +1,538 @@
+package com.itnear.structure.hash;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Random;
+
+/**
+ * 描述：哈希表 - 基于内存映射文件的堆外持久化版本（long键long值，线性探测，键0作为空槽哨兵）
+ * 文件布局：64字节文件头（魔数、容量、元素个数、键0标记、键0的值），之后是capacity个16字节槽位（键、值）。
+ * 数据全部位于页缓存中，堆内存占用与元素个数无关；重新打开时直接映射，无需重建。
+ * 同一时刻只允许一个写者，其它进程可以以只读方式同时打开
+ * 作者：NearJC
+ * 时间：2020/02/15
+ */
+public class MappedHashTable implements Closeable {
+
+    /**
+     * 魔数
+     */
+    private static final long MAGIC = 0x4D48415348544231L;
+
+    /**
+     * 文件头字段偏移
+     */
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SIZE_OFFSET = 16;
+    private static final int ZERO_KEY_OFFSET = 24;
+    private static final int ZERO_VALUE_OFFSET = 32;
+
+    /**
+     * 文件头大小
+     */
+    private static final int HEADER = 64;
+
+    /**
+     * 槽位大小
+     */
+    private static final int SLOT = 16;
+
+    /**
+     * 单个映射块大小（MappedByteBuffer不能超过2GB）
+     */
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+
+    /**
+     * 默认容量（2的幂）
+     */
+    private static final long DEFAULT_CAPACITY = 1024;
+
+    /**
+     * 负载因子上限
+     */
+    private static final double upperTol = 0.75;
+
+    /**
+     * 空槽哨兵
+     */
+    private static final long EMPTY = 0L;
+
+    /**
+     * 文件
+     */
+    private final File file;
+
+    /**
+     * 是否只读
+     */
+    private final boolean readOnly;
+
+    /**
+     * 映射块
+     */
+    private MappedByteBuffer[] chunks;
+
+    /**
+     * 掩码（容量-1）
+     */
+    private long mask;
+
+    /**
+     * 元素个数
+     */
+    private long size;
+
+    /**
+     * 打开文件，文件不存在时以capacity创建
+     *
+     * @param path     文件路径
+     * @param capacity 初始容量
+     * @param readOnly 是否只读
+     * @throws IOException 文件读写失败
+     */
+    public MappedHashTable(String path, long capacity, boolean readOnly) throws IOException {
+        this.file = new File(path);
+        this.readOnly = readOnly;
+
+        if (file.exists() && file.length() > 0) {
+            map(file, readOnly);
+            if (getLong(MAGIC_OFFSET) != MAGIC) {
+                throw new IllegalArgumentException(path + "不是有效的哈希表文件");
+            }
+            this.mask = getLong(CAPACITY_OFFSET) - 1;
+            this.size = getLong(SIZE_OFFSET);
+        } else {
+            if (readOnly) {
+                throw new IllegalArgumentException(path + "不存在");
+            }
+            long n = Long.highestOneBit(Math.max(capacity, DEFAULT_CAPACITY) - 1) << 1;
+            format(file, n);
+            map(file, false);
+            this.mask = n - 1;
+            this.size = 0;
+        }
+    }
+
+    public MappedHashTable(String path) throws IOException {
+        this(path, DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * 获取元素个数
+     *
+     * @return 元素个数
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * 判断哈希表是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 获取容量
+     *
+     * @return 容量
+     */
+    public long getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * 添加元素，键已存在时修改原来的值
+     *
+     * @param key   键
+     * @param value 值
+     */
+    public void add(long key, long value) {
+        checkWritable();
+        if (key == EMPTY) {
+            if (getLong(ZERO_KEY_OFFSET) == 0) {
+                putLong(ZERO_KEY_OFFSET, 1);
+                setSize(size + 1);
+            }
+            putLong(ZERO_VALUE_OFFSET, value);
+            return;
+        }
+
+        long index = find(key);
+        if (keyAt(index) == key) {
+            putLong(valueOffset(index), value);
+        } else {
+            insert(index, key, value);
+        }
+    }
+
+    /**
+     * 把delta累加到键key的值上，键不存在时以0为初始值
+     *
+     * @param key   键
+     * @param delta 增量
+     * @return 累加后的值
+     */
+    public long addTo(long key, long delta) {
+        long value = getOrDefault(key, 0) + delta;
+        add(key, value);
+        return value;
+    }
+
+    /**
+     * 根据键key删除元素
+     *
+     * @param key 键
+     * @return 删除的元素值，不存在返回0
+     */
+    public long remove(long key) {
+        checkWritable();
+        if (key == EMPTY) {
+            if (getLong(ZERO_KEY_OFFSET) == 0) {
+                return 0;
+            }
+            putLong(ZERO_KEY_OFFSET, 0);
+            setSize(size - 1);
+            return getLong(ZERO_VALUE_OFFSET);
+        }
+
+        long index = find(key);
+        if (keyAt(index) != key) {
+            return 0;
+        }
+
+        long ret = getLong(valueOffset(index));
+        shiftKeys(index);
+        setSize(size - 1);
+        return ret;
+    }
+
+    /**
+     * 根据键key设置值
+     *
+     * @param key   键
+     * @param value 值
+     */
+    public void set(long key, long value) {
+        if (!contains(key)) {
+            throw new IllegalArgumentException(key + "不存在");
+        }
+        add(key, value);
+    }
+
+    /**
+     * 根据键key判断是否包含元素
+     *
+     * @param key 键
+     * @return 包含返回true，否则返回false
+     */
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return getLong(ZERO_KEY_OFFSET) != 0;
+        }
+        return keyAt(find(key)) == key;
+    }
+
+    /**
+     * 根据键key获取值
+     *
+     * @param key 键
+     * @return 值，不存在返回0
+     */
+    public long get(long key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * 根据键key获取值，不存在时返回defaultValue
+     *
+     * @param key          键
+     * @param defaultValue 默认值
+     * @return 值
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == EMPTY) {
+            return getLong(ZERO_KEY_OFFSET) != 0 ? getLong(ZERO_VALUE_OFFSET) : defaultValue;
+        }
+
+        long index = find(key);
+        return keyAt(index) == key ? getLong(valueOffset(index)) : defaultValue;
+    }
+
+    /**
+     * 把修改刷写到磁盘
+     */
+    public void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    /**
+     * 关闭哈希表，可写时先刷盘。映射在缓冲区被回收后释放
+     */
+    @Override
+    public void close() {
+        if (!readOnly) {
+            force();
+        }
+        chunks = new MappedByteBuffer[0];
+    }
+
+    /**
+     * 查找键key所在的槽位，不存在时返回探测链末尾的空槽
+     *
+     * @param key 键（非哨兵）
+     * @return 索引
+     */
+    private long find(long key) {
+        long index = hash(key) & mask;
+        long cur;
+        while ((cur = keyAt(index)) != EMPTY && cur != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * 在空槽index处插入元素，必要时扩容
+     *
+     * @param index 空槽索引
+     * @param key   键
+     * @param value 值
+     */
+    private void insert(long index, long key, long value) {
+        putLong(valueOffset(index), value);
+        putLong(keyOffset(index), key);
+        setSize(size + 1);
+
+        // 判断是否扩容
+        if (size >= upperTol * (mask + 1)) {
+            resize((mask + 1) * 2);
+        }
+    }
+
+    /**
+     * 后移删除：把探测链上后续元素前移填补空位，不留墓碑
+     *
+     * @param last 被删除的槽位
+     */
+    private void shiftKeys(long last) {
+        long index = last;
+        while (true) {
+            index = (index + 1) & mask;
+            long cur = keyAt(index);
+            if (cur == EMPTY) {
+                break;
+            }
+
+            // 理想位置落在(last, index]区间内的元素不能前移
+            long slot = hash(cur) & mask;
+            if (last <= index ? (last >= slot || slot > index) : (last >= slot && slot > index)) {
+                putLong(keyOffset(last), cur);
+                putLong(valueOffset(last), getLong(valueOffset(index)));
+                last = index;
+            }
+        }
+        putLong(keyOffset(last), EMPTY);
+    }
+
+    /**
+     * 扩容：写入同目录下的临时文件，完成后替换原文件
+     *
+     * @param newCapacity 新容量
+     */
+    private void resize(long newCapacity) {
+        File tmp = new File(file.getPath() + ".resize");
+        try {
+            format(tmp, newCapacity);
+            MappedByteBuffer[] oldChunks = chunks;
+            long oldCapacity = mask + 1;
+            long zeroKey = getLong(ZERO_KEY_OFFSET);
+            long zeroValue = getLong(ZERO_VALUE_OFFSET);
+
+            map(tmp, false);
+            this.mask = newCapacity - 1;
+            putLong(SIZE_OFFSET, size);
+            putLong(ZERO_KEY_OFFSET, zeroKey);
+            putLong(ZERO_VALUE_OFFSET, zeroValue);
+            for (long i = 0; i < oldCapacity; i++) {
+                long key = getLong(oldChunks, keyOffset(i));
+                if (key != EMPTY) {
+                    long index = find(key);
+                    putLong(valueOffset(index), getLong(oldChunks, valueOffset(i)));
+                    putLong(keyOffset(index), key);
+                }
+            }
+            force();
+
+            if (!tmp.renameTo(file) && !(file.delete() && tmp.renameTo(file))) {
+                throw new IOException("无法替换文件" + file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 创建容量为capacity的空文件并写入文件头
+     *
+     * @param f        文件
+     * @param capacity 容量
+     * @throws IOException 文件读写失败
+     */
+    private static void format(File f, long capacity) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(f, "rw")) {
+            raf.setLength(0);
+            raf.setLength(HEADER + capacity * SLOT);
+            raf.seek(MAGIC_OFFSET);
+            raf.writeLong(MAGIC);
+            raf.seek(CAPACITY_OFFSET);
+            raf.writeLong(capacity);
+        }
+    }
+
+    /**
+     * 按块映射整个文件
+     *
+     * @param f        文件
+     * @param readOnly 是否只读
+     * @throws IOException 文件读写失败
+     */
+    private void map(File f, boolean readOnly) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(f, readOnly ? "r" : "rw")) {
+            FileChannel channel = raf.getChannel();
+            long length = channel.size();
+            MappedByteBuffer[] newChunks = new MappedByteBuffer[(int) ((length + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+            for (int i = 0; i < newChunks.length; i++) {
+                long position = (long) i << CHUNK_SHIFT;
+                newChunks[i] = channel.map(readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE,
+                        position, Math.min(CHUNK_SIZE, length - position));
+            }
+            this.chunks = newChunks;
+        }
+    }
+
+    /**
+     * 只读时拒绝修改
+     */
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("哈希表以只读方式打开");
+        }
+    }
+
+    /**
+     * 更新元素个数并写入文件头
+     *
+     * @param size 元素个数
+     */
+    private void setSize(long size) {
+        this.size = size;
+        putLong(SIZE_OFFSET, size);
+    }
+
+    /**
+     * 获取槽位index的键
+     *
+     * @param index 槽位索引
+     * @return 键
+     */
+    private long keyAt(long index) {
+        return getLong(keyOffset(index));
+    }
+
+    /**
+     * 槽位index的键在文件中的偏移
+     *
+     * @param index 槽位索引
+     * @return 偏移
+     */
+    private static long keyOffset(long index) {
+        return HEADER + index * SLOT;
+    }
+
+    /**
+     * 槽位index的值在文件中的偏移
+     *
+     * @param index 槽位索引
+     * @return 偏移
+     */
+    private static long valueOffset(long index) {
+        return HEADER + index * SLOT + 8;
+    }
+
+    /**
+     * 读取文件偏移offset处的long
+     *
+     * @param offset 偏移
+     * @return 数据
+     */
+    private long getLong(long offset) {
+        return getLong(chunks, offset);
+    }
+
+    /**
+     * 从指定映射块中读取文件偏移offset处的long
+     *
+     * @param chunks 映射块
+     * @param offset 偏移
+     * @return 数据
+     */
+    private static long getLong(MappedByteBuffer[] chunks, long offset) {
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getLong((int) (offset & (CHUNK_SIZE - 1)));
+    }
+
+    /**
+     * 写入文件偏移offset处的long
+     *
+     * @param offset 偏移
+     * @param value  数据
+     */
+    private void putLong(long offset, long value) {
+        chunks[(int) (offset >>> CHUNK_SHIFT)].putLong((int) (offset & (CHUNK_SIZE - 1)), value);
+    }
+
+    /**
+     * 哈希函数
+     *
+     * @param key 键
+     * @return 哈希值
+     */
+    private static long hash(long key) {
+        return HashFunctions.fmix64(key);
+    }
+
+    public static void main(String[] args) throws IOException {
+        String path = "mapped-hash-table.bin";
+        int n = 1000000;
+        Random random = new Random(1);
+
+        long startTime = System.nanoTime();
+        try (MappedHashTable table = new MappedHashTable(path)) {
+            for (int i = 0; i < n; i++) {
+                table.addTo(random.nextInt(n), 1);
+            }
+            System.out.println("Build : " + (System.nanoTime() - startTime) / 1000000000.0 + " s, size "
+                    + table.getSize() + ", capacity " + table.getCapacity());
+        }
+
+        startTime = System.nanoTime();
+        try (MappedHashTable table = new MappedHashTable(path, 0, true)) {
+            System.out.println("Reopen : " + (System.nanoTime() - startTime) / 1000000.0 + " ms, size " + table.getSize());
+            System.out.println("Count of 42 : " + table.get(42));
+        }
+
+        new File(path).delete();
+    }
+}
@@ -0,0 +1,363 @@
+package com.itnear.structure.hash;
+
+import com.itnear.structure.map.Map;
+import com.itnear.util.FileOperation;
+
+import java.util.ArrayList;
+
+/**
+ * 描述：哈希表 - 开放地址法（Robin Hood探测，后移删除）
+ * 作者：NearJC
+ * 时间：2020/02/11
+ */
+public class RobinHoodHashTable<K, V> implements Map<K, V> {
+
+    /**
+     * 默认容量（2的幂）
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 负载因子上限
+     */
+    private static final double upperTol = 0.8;
+
+    /**
+     * 负载因子下限
+     */
+    private static final double lowerTol = 0.1;
+
+    /**
+     * 键数组
+     */
+    private K[] keys;
+
+    /**
+     * 值数组
+     */
+    private V[] values;
+
+    /**
+     * 探测距离数组，0表示空槽，否则为离理想位置的距离+1
+     */
+    private int[] probes;
+
+    /**
+     * 掩码（容量-1）
+     */
+    private int mask;
+
+    /**
+     * 元素个数
+     */
+    private int size;
+
+    /**
+     * 哈希函数，容量为2的幂，索引只取低位
+     */
+    private final HashFunction<K> hashFunction;
+
+    public RobinHoodHashTable(int capacity, HashFunction<K> hashFunction) {
+        init(tableSizeFor(Math.max(capacity, DEFAULT_CAPACITY)));
+        this.size = 0;
+        this.hashFunction = hashFunction;
+    }
+
+    public RobinHoodHashTable(int capacity) {
+        this(capacity, HashFunctions.murmur3());
+    }
+
+    public RobinHoodHashTable(HashFunction<K> hashFunction) {
+        this(DEFAULT_CAPACITY, hashFunction);
+    }
+
+    public RobinHoodHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 获取元素个数
+     *
+     * @return 元素个数
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 判断哈希表是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 获取容量
+     *
+     * @return 容量
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * 添加元素，键已存在时修改原来的值
+     *
+     * @param key   键
+     * @param value 值
+     */
+    @Override
+    public void add(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("键不能为null");
+        }
+
+        // 判断是否扩容
+        if (size + 1 > upperTol * keys.length) {
+            resize(keys.length * 2);
+        }
+
+        int index = hash(key) & mask;
+        int dist = 1;
+        while (probes[index] != 0) {
+            if (probes[index] == dist && keys[index].equals(key)) {
+                values[index] = value;
+                return;
+            }
+
+            // 当前槽位元素比待查找元素"富有"，说明key不存在，从这里开始插入
+            if (probes[index] < dist) {
+                break;
+            }
+            index = (index + 1) & mask;
+            dist++;
+        }
+
+        insert(index, dist, key, value);
+        size++;
+    }
+
+    /**
+     * 从index开始插入元素，途中交换"富有"的元素继续向后探测
+     *
+     * @param index 起始索引
+     * @param dist  探测距离
+     * @param key   键
+     * @param value 值
+     */
+    private void insert(int index, int dist, K key, V value) {
+        while (probes[index] != 0) {
+            if (probes[index] < dist) {
+                K k = keys[index];
+                V v = values[index];
+                int d = probes[index];
+                keys[index] = key;
+                values[index] = value;
+                probes[index] = dist;
+                key = k;
+                value = v;
+                dist = d;
+            }
+            index = (index + 1) & mask;
+            dist++;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        probes[index] = dist;
+    }
+
+    /**
+     * 根据键key删除元素
+     *
+     * @param key 键
+     * @return 删除的元素值
+     */
+    @Override
+    public V remove(K key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+
+        V ret = values[index];
+
+        // 后移删除：把后续探测链整体前移一位，不留墓碑
+        int next = (index + 1) & mask;
+        while (probes[next] > 1) {
+            keys[index] = keys[next];
+            values[index] = values[next];
+            probes[index] = probes[next] - 1;
+            index = next;
+            next = (next + 1) & mask;
+        }
+        keys[index] = null;
+        values[index] = null;
+        probes[index] = 0;
+        size--;
+
+        // 判断是否缩容
+        if (size < lowerTol * keys.length && keys.length / 2 >= DEFAULT_CAPACITY) {
+            resize(keys.length / 2);
+        }
+        return ret;
+    }
+
+    /**
+     * 根据键key设置值
+     *
+     * @param key      键
+     * @param newValue 值
+     */
+    @Override
+    public void set(K key, V newValue) {
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new IllegalArgumentException(key + "不存在");
+        }
+        values[index] = newValue;
+    }
+
+    /**
+     * 根据键key判断是否包含元素
+     *
+     * @param key 键
+     * @return 包含返回true，否则返回false
+     */
+    @Override
+    public boolean contains(K key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * 根据键key获取值
+     *
+     * @param key 键
+     * @return 值
+     */
+    @Override
+    public V get(K key) {
+        int index = indexOf(key);
+        return index < 0 ? null : values[index];
+    }
+
+    /**
+     * 查找键key所在的索引
+     *
+     * @param key 键
+     * @return 索引，不存在返回-1
+     */
+    private int indexOf(K key) {
+        if (key == null) {
+            return -1;
+        }
+
+        int index = hash(key) & mask;
+        int dist = 1;
+        while (probes[index] >= dist) {
+            if (probes[index] == dist && keys[index].equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+            dist++;
+        }
+        return -1;
+    }
+
+    /**
+     * 扩容/缩容
+     *
+     * @param newCapacity 新容量
+     */
+    private void resize(int newCapacity) {
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        int[] oldProbes = probes;
+
+        init(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldProbes[i] != 0) {
+                insert(hash(oldKeys[i]) & mask, 1, oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * 按容量初始化存储数组
+     *
+     * @param capacity 容量（2的幂）
+     */
+    private void init(int capacity) {
+        this.keys = (K[]) new Object[capacity];
+        this.values = (V[]) new Object[capacity];
+        this.probes = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 哈希函数
+     *
+     * @param key 键
+     * @return 哈希值
+     */
+    private int hash(K key) {
+        return hashFunction.hash(key);
+    }
+
+    /**
+     * 返回不小于capacity的最小2的幂
+     *
+     * @param capacity 容量
+     * @return 2的幂
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = Integer.highestOneBit(capacity - 1) << 1;
+        return n <= 0 ? 1 << 30 : n;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Pride and Prejudice");
+
+        ArrayList<String> words = new ArrayList<>();
+        if (FileOperation.readFile("pride-and-prejudice.txt", words)) {
+            System.out.println("Total words: " + words.size());
+
+            long startTime = System.nanoTime();
+            HashTable<String, Integer> hashTable = new HashTable<>();
+            for (String word : words) {
+                if (hashTable.contains(word))
+                    hashTable.set(word, hashTable.get(word) + 1);
+                else
+                    hashTable.add(word, 1);
+            }
+            long endTime = System.nanoTime();
+            System.out.println("HashTable : " + (endTime - startTime) / 1000000000.0 + " s");
+
+            startTime = System.nanoTime();
+            RobinHoodHashTable<String, Integer> map = new RobinHoodHashTable<>();
+            for (String word : words) {
+                if (map.contains(word))
+                    map.set(word, map.get(word) + 1);
+                else
+                    map.add(word, 1);
+            }
+            endTime = System.nanoTime();
+            System.out.println("RobinHoodHashTable : " + (endTime - startTime) / 1000000000.0 + " s");
+
+            System.out.println("Total different words: " + map.getSize());
+            System.out.println("Frequency of PRIDE: " + map.get("pride"));
+            System.out.println("Frequency of PREJUDICE: " + map.get("prejudice"));
+
+            for (String word : words) {
+                map.remove(word);
+            }
+            System.out.println("After remove all: " + map.getSize() + " capacity: " + map.getCapacity());
+        }
+
+        System.out.println();
+    }
+}
@@ -0,0 +1,236 @@
+package com.itnear.structure.hash;
+
+import com.itnear.structure.map.Map;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 测试类
+ */
+public class TestUtil {
+
+    /**
+     * 多线程混合读写测试：每个线程写入互不重叠的键并随机读取，结束后校验全部键值
+     *
+     * @param map     映射
+     * @param threads 线程数
+     * @param m       每个线程的操作次数
+     * @return 耗时（秒）
+     */
+    private static double testConcurrent(Map<Integer, Integer> map, int threads, int m) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(id);
+                for (int i = 0; i < m; i++) {
+                    // 读写比例 9:1
+                    if (i % 10 == 0) {
+                        int key = (i / 10) * threads + id;
+                        map.add(key, key);
+                    } else {
+                        map.get(random.nextInt(m / 10 * threads + 1));
+                    }
+                }
+            });
+        }
+
+        long startTime = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long endTime = System.nanoTime();
+
+        int expected = (m + 9) / 10 * threads;
+        if (map.getSize() != expected) {
+            throw new IllegalStateException("元素个数错误：" + map.getSize() + "，期望：" + expected);
+        }
+        for (int key = 0; key < expected; key++) {
+            Integer value = map.get(key);
+            if (value == null || value != key) {
+                throw new IllegalStateException("键" + key + "的值错误：" + value);
+            }
+        }
+
+        return (endTime - startTime) / 1000000000.0;
+    }
+
+    /**
+     * 渐进式扩容期间向旧表中尚未迁移的空桶插入：所有键先落在同一个桶里触发53->97的扩容，
+     * 之后插入的键在旧表和新表中都对应空桶，插入后必须立即可见，重复插入不能重复计数，
+     * 也不能覆盖已经迁移到新表的桶
+     */
+    private static void testRehashInsert() {
+        for (int extra : new int[]{40, 97}) {
+            HashTable<Integer, Integer> hashTable = new HashTable<>(true);
+            int n = 530;
+            for (int i = 0; i < n; i++) {
+                hashTable.add(i * 53 * 97, i);
+            }
+            if (!hashTable.isRehashing()) {
+                throw new IllegalStateException("没有进入渐进式扩容");
+            }
+
+            hashTable.add(extra, -1);
+            hashTable.add(extra, -1);
+            if (!hashTable.contains(extra) || hashTable.getSize() != n + 1) {
+                throw new IllegalStateException("插入" + extra + "后元素个数：" + hashTable.getSize() + "，期望：" + (n + 1));
+            }
+            for (int i = 0; i < n; i++) {
+                Integer value = hashTable.get(i * 53 * 97);
+                if (value == null || value != i) {
+                    throw new IllegalStateException("插入" + extra + "后键" + i * 53 * 97 + "的值错误：" + value);
+                }
+            }
+            hashTable.merge(extra + 53 * 97 * 1000, 1, Integer::sum);
+            if (hashTable.get(extra + 53 * 97 * 1000) == null || hashTable.getSize() != n + 2) {
+                throw new IllegalStateException("merge后元素个数：" + hashTable.getSize() + "，期望：" + (n + 2));
+            }
+        }
+        System.out.println("Incremental rehash insert into empty old bucket : ok");
+    }
+
+    /**
+     * 布谷鸟哈希表插入大量hashCode相同的非字符串键：换种子无法分散这些键，不能抛出异常，也不能丢失原有的键
+     */
+    private static void testCuckooCollisions() {
+        CuckooHashTable<Long, Integer> table = new CuckooHashTable<>();
+        int n = 1000;
+        for (int i = 1; i <= n; i++) {
+            table.add((long) i, i);
+            // (i << 32) | i 的hashCode都是0
+            table.add((long) i << 32 | i, -i);
+        }
+        for (int i = 1; i <= n; i++) {
+            Integer value = table.get((long) i);
+            Integer colliding = table.get((long) i << 32 | i);
+            if (value == null || value != i || colliding == null || colliding != -i) {
+                throw new IllegalStateException("键" + i + "的值错误：" + value + "，" + colliding);
+            }
+        }
+        if (table.getSize() != 2 * n) {
+            throw new IllegalStateException("元素个数错误：" + table.getSize() + "，期望：" + 2 * n);
+        }
+        System.out.println("Cuckoo insert of " + n + " keys with equal hashCode : ok");
+    }
+
+    /**
+     * 构造hashCode全部相同的字符串："Aa"与"BB"的hashCode相同，任意拼接k段得到2^k个冲突的键
+     *
+     * @param k 段数
+     * @return 键
+     */
+    private static String[] collidingKeys(int k) {
+        String[] keys = new String[1 << k];
+        for (int i = 0; i < keys.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0; j < k; j++) {
+                sb.append((i >>> j & 1) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = sb.toString();
+        }
+        return keys;
+    }
+
+    /**
+     * 单次查询延迟测试
+     *
+     * @param map    映射
+     * @param keys   键
+     * @param rounds 查询轮数
+     * @return 依次为p50、p99.9、最大延迟（纳秒）
+     */
+    private static long[] testGetLatency(Map<String, Integer> map, String[] keys, int rounds) {
+        for (int i = 0; i < keys.length; i++) {
+            map.add(keys[i], i);
+        }
+
+        long[] latency = new long[keys.length * rounds];
+        int n = 0;
+        for (int r = 0; r < rounds; r++) {
+            for (String key : keys) {
+                long startTime = System.nanoTime();
+                map.get(key);
+                latency[n++] = System.nanoTime() - startTime;
+            }
+        }
+        Arrays.sort(latency);
+        return new long[]{latency[n / 2], latency[(int) (n * 0.999)], latency[n - 1]};
+    }
+
+    /**
+     * 整体加锁的哈希表，作为并发测试的对照
+     */
+    private static class SynchronizedHashTable<K, V> implements Map<K, V> {
+
+        private final HashTable<K, V> table = new HashTable<>();
+
+        @Override
+        public synchronized void add(K key, V value) {
+            table.add(key, value);
+        }
+
+        @Override
+        public synchronized V remove(K key) {
+            return table.remove(key);
+        }
+
+        @Override
+        public synchronized boolean contains(K key) {
+            return table.contains(key);
+        }
+
+        @Override
+        public synchronized V get(K key) {
+            return table.get(key);
+        }
+
+        @Override
+        public synchronized void set(K key, V newValue) {
+            table.set(key, newValue);
+        }
+
+        @Override
+        public synchronized int getSize() {
+            return table.getSize();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return table.isEmpty();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        testRehashInsert();
+        testCuckooCollisions();
+
+        String[] adversarial = collidingKeys(16);
+        String[] random = new String[adversarial.length];
+        Random rnd = new Random();
+        for (int i = 0; i < random.length; i++) {
+            random[i] = Long.toString(rnd.nextLong(), 36);
+        }
+        for (String[] keys : new String[][]{random, adversarial}) {
+            long[] hashTable = testGetLatency(new HashTable<>(), keys, 5);
+            long[] cuckoo = testGetLatency(new CuckooHashTable<>(), keys, 5);
+            System.out.println((keys == random ? "Random" : "Adversarial") + " keys get latency (p50 / p99.9 / max ns) : "
+                    + "HashTable " + hashTable[0] + " / " + hashTable[1] + " / " + hashTable[2]
+                    + ", CuckooHashTable " + cuckoo[0] + " / " + cuckoo[1] + " / " + cuckoo[2]);
+        }
+
+        int m = 1000000;
+        int maxThreads = Math.max(16, Runtime.getRuntime().availableProcessors());
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double syncTime = testConcurrent(new SynchronizedHashTable<>(), threads, m);
+            double concurrentTime = testConcurrent(new ConcurrentHashTable<>(), threads, m);
+            System.out.println(String.format("%2d threads : SynchronizedHashTable %.3f s, ConcurrentHashTable %.3f s",
+                    threads, syncTime, concurrentTime));
+        }
+    }
+}
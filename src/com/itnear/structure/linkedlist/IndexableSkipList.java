@@ -0,0 +1,465 @@
+package com.itnear.structure.linkedlist;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * 描述：链表 - 可索引跳表，每层指针记录跨过的元素个数（跨度），按索引查找时逐层累加跨度，
+ * 按位置增删改查的期望复杂度为O(log n)；第0层就是普通链表，顺序遍历不受影响
+ * 作者：NearJC
+ * 时间：2020/02/20
+ */
+public class IndexableSkipList<E> implements List<E>, Iterable<E> {
+
+    /**
+     * 最大层数
+     */
+    private static final int MAX_LEVEL = 32;
+
+    /**
+     * 节点晋升到上一层的概率
+     */
+    private static final double P = 0.25;
+
+    /**
+     * 跳表节点结构
+     */
+    private class Node {
+        /**
+         * 节点元素
+         */
+        private E e;
+
+        /**
+         * 每层的下一个节点
+         */
+        private Node[] next;
+
+        /**
+         * 每层指针跨过的元素个数，指向null时为到表尾的元素个数
+         */
+        private int[] span;
+
+        public Node(E e, int level) {
+            this.e = e;
+            @SuppressWarnings("unchecked")
+            Node[] next = (Node[]) new IndexableSkipList<?>.Node[level];
+            this.next = next;
+            this.span = new int[level];
+        }
+    }
+
+    /**
+     * 头节点
+     */
+    private Node head;
+
+    /**
+     * 尾节点
+     */
+    private Node tail;
+
+    /**
+     * 当前层数
+     */
+    private int level;
+
+    /**
+     * 元素个数
+     */
+    private int size;
+
+    /**
+     * 查找过程中每层的前驱节点及其位置（头节点为0，第i个元素为i+1），复用避免分配
+     */
+    private final Node[] update;
+    private final int[] rank;
+
+    private final Random random;
+
+    public IndexableSkipList() {
+        this.head = new Node(null, MAX_LEVEL);
+        this.tail = null;
+        this.level = 1;
+        this.size = 0;
+        @SuppressWarnings("unchecked")
+        Node[] update = (Node[]) new IndexableSkipList<?>.Node[MAX_LEVEL];
+        this.update = update;
+        this.rank = new int[MAX_LEVEL];
+        this.random = new Random();
+    }
+
+    /**
+     * 获取元素个数
+     *
+     * @return 元素个数
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 判断链表是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 根据索引添加元素
+     *
+     * @param index 索引
+     * @param e     元素
+     */
+    @Override
+    public void add(int index, E e) {
+        if (index < 0 || index > size) {
+            throw new IllegalArgumentException("添加失败，索引越界");
+        }
+
+        // 找到每层位置小于等于index的最后一个节点，即新节点的前驱
+        findPredecessors(index);
+
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int i = level; i < newLevel; i++) {
+                update[i] = head;
+                rank[i] = 0;
+                head.span[i] = size;
+            }
+            level = newLevel;
+        }
+
+        Node node = new Node(e, newLevel);
+        for (int i = 0; i < newLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            // 新节点位置为rank[0] + 1，前驱到新节点跨过rank[0] - rank[i] + 1个元素
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = newLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+
+        if (node.next[0] == null) {
+            tail = node;
+        }
+        size++;
+    }
+
+    /**
+     * 在表头添加元素e
+     *
+     * @param e 元素
+     */
+    @Override
+    public void addFirst(E e) {
+        add(0, e);
+    }
+
+    /**
+     * 在表尾添加新的元素e
+     *
+     * @param e 元素
+     */
+    @Override
+    public void addLast(E e) {
+        add(size, e);
+    }
+
+    /**
+     * 根据索引index修改元素
+     *
+     * @param index 索引
+     * @param e     元素
+     */
+    @Override
+    public void set(int index, E e) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("修改失败，索引越界");
+        }
+
+        node(index).e = e;
+    }
+
+    /**
+     * 查找链表中是否有元素e，元素无序，只能沿第0层顺序查找
+     *
+     * @param e 元素
+     * @return 存在时返回true，否则返回false
+     */
+    @Override
+    public boolean contains(E e) {
+        return indexOf(e) >= 0;
+    }
+
+    /**
+     * 根据索引移除元素，并返回移除的元素
+     *
+     * @param index 索引
+     * @return 移除元素
+     */
+    @Override
+    public E remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("删除失败，索引越界");
+        }
+
+        findPredecessors(index);
+        Node node = update[0].next[0];
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == node) {
+                update[i].span[i] += node.span[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+
+        if (node.next[0] == null) {
+            tail = update[0] == head ? null : update[0];
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            head.span[--level] = 0;
+        }
+        size--;
+
+        E ret = node.e;
+        node.e = null;
+        return ret;
+    }
+
+    /**
+     * 移除表头，并返回删除元素
+     *
+     * @return 删除元素
+     */
+    @Override
+    public E removeFirst() {
+        return remove(0);
+    }
+
+    /**
+     * 移除链表的最后一个元素，并返回删除元素
+     *
+     * @return 删除元素
+     */
+    @Override
+    public E removeLast() {
+        return remove(size - 1);
+    }
+
+    /**
+     * 从链表中删除指定元素e（第一次出现的位置）
+     *
+     * @param e 元素
+     */
+    @Override
+    public void removeElement(E e) {
+        int index = indexOf(e);
+        if (index >= 0) {
+            remove(index);
+        }
+    }
+
+    /**
+     * 根据索引index获取元素
+     *
+     * @param index 索引
+     * @return 元素
+     */
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("获取失败，索引越界");
+        }
+
+        return node(index).e;
+    }
+
+    /**
+     * 获取链表的第一个元素
+     *
+     * @return 元素
+     */
+    @Override
+    public E getFirst() {
+        if (size == 0) {
+            throw new IllegalArgumentException("获取失败，链表为空");
+        }
+        return head.next[0].e;
+    }
+
+    /**
+     * 获取最后一个元素
+     *
+     * @return 元素
+     */
+    @Override
+    public E getLast() {
+        if (size == 0) {
+            throw new IllegalArgumentException("获取失败，链表为空");
+        }
+        return tail.e;
+    }
+
+    /**
+     * 查找元素e第一次出现的索引
+     *
+     * @param e 元素
+     * @return 索引，不存在返回-1
+     */
+    public int indexOf(E e) {
+        int index = 0;
+        for (Node cur = head.next[0]; cur != null; cur = cur.next[0], index++) {
+            if (cur.e.equals(e)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 沿第0层顺序遍历
+     *
+     * @return 迭代器
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private Node cur = head.next[0];
+
+            @Override
+            public boolean hasNext() {
+                return cur != null;
+            }
+
+            @Override
+            public E next() {
+                if (cur == null) {
+                    throw new NoSuchElementException();
+                }
+                E e = cur.e;
+                cur = cur.next[0];
+                return e;
+            }
+        };
+    }
+
+    /**
+     * 定位索引index处的节点
+     *
+     * @param index 索引
+     * @return 节点
+     */
+    private Node node(int index) {
+        if (index == size - 1) {
+            return tail;
+        }
+
+        // 头节点位置为0，第index个元素位置为index + 1
+        Node cur = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (cur.next[i] != null && traversed + cur.span[i] <= index + 1) {
+                traversed += cur.span[i];
+                cur = cur.next[i];
+            }
+            if (traversed == index + 1) {
+                return cur;
+            }
+        }
+        return cur;
+    }
+
+    /**
+     * 查找每层位置不超过index的最后一个节点，结果存入update和rank
+     *
+     * @param index 索引
+     */
+    private void findPredecessors(int index) {
+        Node cur = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (cur.next[i] != null && traversed + cur.span[i] <= index) {
+                traversed += cur.span[i];
+                cur = cur.next[i];
+            }
+            update[i] = cur;
+            rank[i] = traversed;
+        }
+    }
+
+    /**
+     * 随机层数，每层以概率P晋升
+     *
+     * @return 层数
+     */
+    private int randomLevel() {
+        int newLevel = 1;
+        while (newLevel < MAX_LEVEL && random.nextDouble() < P) {
+            newLevel++;
+        }
+        return newLevel;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+
+        res.append(String.format("IndexableSkipList：链表元素个数：%d\n", getSize()));
+        for (Node cur = head.next[0]; cur != null; cur = cur.next[0]) {
+            res.append(cur.e).append("->");
+        }
+        res.append("NULL");
+
+        return res.toString();
+    }
+
+    /**
+     * 随机位置插入与读取测试
+     *
+     * @param list 链表，已有n个元素
+     * @param n    元素个数
+     * @param m    操作次数
+     * @return 每次操作的平均耗时（微秒）
+     */
+    private static double testPositional(List<Integer> list, int n, int m) {
+        Random random = new Random(1);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < m; i++) {
+            list.add(random.nextInt(n + i + 1), i);
+            list.get(random.nextInt(n + i + 1));
+        }
+        return (System.nanoTime() - startTime) / 1000.0 / m;
+    }
+
+    public static void main(String[] args) {
+        int m = 1000;
+        for (int n = 10000; n <= 10000000; n *= 10) {
+            Integer e = 1;
+            String linkedListTime = "-";
+            if (n <= 1000000) {
+                LinkedList<Integer> linkedList = new LinkedList<>();
+                for (int i = 0; i < n; i++) {
+                    linkedList.addFirst(e);
+                }
+                linkedListTime = String.format("%.2f us/op", testPositional(linkedList, n, m));
+            }
+
+            IndexableSkipList<Integer> skipList = new IndexableSkipList<>();
+            for (int i = 0; i < n; i++) {
+                skipList.addLast(e);
+            }
+            System.out.println(String.format("n = %8d : LinkedList %s, IndexableSkipList %.2f us/op",
+                    n, linkedListTime, testPositional(skipList, n, m)));
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.itnear.structure.linkedlist;
 
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
 /**
- * 描述：链表
+ * 描述：链表，维护尾指针，表尾添加和获取为O(1)；双向模式下额外维护前驱指针，表尾删除也为O(1)，
+ * 按索引访问时从较近的一端开始。可选节点池回收被删除的节点，稳定的增删负载下不再分配新节点
  * 作者：NearJC
  * 时间：2020/02/05
  */
-public class LinkedList<E> {
+public class LinkedList<E> implements List<E>, Iterable<E> {
 
     /**
      * 链表节点结构
@@ -21,6 +25,11 @@ public class LinkedList<E> {
          */
         private Node next;
 
+        /**
+         * 上一个节点，只在双向模式下维护
+         */
+        private Node prev;
+
         public Node(E e, Node next) {
             this.e = e;
             this.next = next;
@@ -45,14 +54,64 @@ public class LinkedList<E> {
      */
     private Node dummyHead;
 
+    /**
+     * 尾节点，链表为空时指向头节点
+     */
+    private Node tail;
+
+    /**
+     * 是否为双向链表
+     */
+    private final boolean doubly;
+
     /**
      * 元素个数
      */
     private int size;
 
-    public LinkedList() {
+    /**
+     * 节点池，为null时不回收节点
+     */
+    private final NodePool<Node> pool;
+
+    /**
+     * 新分配的节点个数（不含头节点）
+     */
+    private long allocationCount;
+
+    /**
+     * 链表本身不是线程安全的，多个线程由外部同步交替使用时（例如生产者在表尾添加、消费者在表头删除），
+     * 可以开启节点池的线程本地缓存，删除线程回收的节点成批流回添加线程
+     *
+     * @param doubly        是否为双向链表，双向时每个节点多一个前驱指针
+     * @param poolCapacity  节点池容量
+     * @param localCapacity 节点池中每个线程的本地缓存容量，0表示不使用线程本地缓存；与poolCapacity都为0时不使用节点池
+     */
+    public LinkedList(boolean doubly, int poolCapacity, int localCapacity) {
         this.dummyHead = new Node();
+        this.tail = dummyHead;
+        this.doubly = doubly;
         this.size = 0;
+        this.pool = poolCapacity > 0 || localCapacity > 0 ? new NodePool<>(poolCapacity, localCapacity) : null;
+    }
+
+    /**
+     * @param doubly       是否为双向链表，双向时每个节点多一个前驱指针
+     * @param poolCapacity 节点池容量，0表示不使用节点池
+     */
+    public LinkedList(boolean doubly, int poolCapacity) {
+        this(doubly, poolCapacity, 0);
+    }
+
+    /**
+     * @param doubly 是否为双向链表，双向时每个节点多一个前驱指针
+     */
+    public LinkedList(boolean doubly) {
+        this(doubly, 0);
+    }
+
+    public LinkedList() {
+        this(false);
     }
 
     /**
@@ -60,6 +119,7 @@ public class LinkedList<E> {
      *
      * @return 元素个数
      */
+    @Override
     public int getSize() {
         return size;
     }
@@ -69,6 +129,7 @@ public class LinkedList<E> {
      *
      * @return 空返回true，否则返回false
      */
+    @Override
     public boolean isEmpty() {
         return size == 0;
     }
@@ -79,18 +140,15 @@ public class LinkedList<E> {
      * @param index 索引
      * @param e     元素
      */
+    @Override
     public void add(int index, E e) {
         if (index < 0 || index > size) {
             throw new IllegalArgumentException("添加失败，索引越界");
         }
 
         // 添加节点
-        Node prev = dummyHead;
-        for (int i = 0; i < index; i++) {
-            prev = prev.next;
-        }
-        prev.next = new Node(e, prev.next);
-        size++;
+        Node prev = index == size ? tail : node(index - 1);
+        linkAfter(prev, e);
     }
 
     /**
@@ -98,6 +156,7 @@ public class LinkedList<E> {
      *
      * @param e 元素
      */
+    @Override
     public void addFirst(E e) {
         add(0, e);
     }
@@ -107,6 +166,7 @@ public class LinkedList<E> {
      *
      * @param e 元素
      */
+    @Override
     public void addLast(E e) {
         add(size, e);
     }
@@ -117,17 +177,14 @@ public class LinkedList<E> {
      * @param index 索引
      * @param e     元素
      */
+    @Override
     public void set(int index, E e) {
-        if (index < 0 || index > size) {
+        if (index < 0 || index >= size) {
             throw new IllegalArgumentException("添加失败，索引越界");
         }
 
         // 修改
-        Node cur = dummyHead.next;
-        for (int i = 0; i < index; i++) {
-            cur = cur.next;
-        }
-        cur.e = e;
+        node(index).e = e;
     }
 
     /**
@@ -136,6 +193,7 @@ public class LinkedList<E> {
      * @param e 元素
      * @return 存在时返回true，否则返回false
      */
+    @Override
     public boolean contains(E e) {
         Node cur = dummyHead.next;
         while (cur != null) {
@@ -154,21 +212,15 @@ public class LinkedList<E> {
      * @param index 索引
      * @return 移除元素
      */
+    @Override
     public E remove(int index) {
         if (index < 0 || index >= size) {
             throw new IllegalArgumentException("添加失败，索引越界");
         }
 
-        Node prev = dummyHead;
-        for (int i = 0; i < index; i++) {
-            prev = prev.next;
-        }
-        Node retNode = prev.next;
-        prev.next = retNode.next;
-        retNode.next = null;
-        size--;
-
-        return retNode.e;
+        // 双向模式下直接定位被删节点，前驱由prev指针得到
+        Node prev = doubly ? node(index).prev : node(index - 1);
+        return unlinkAfter(prev);
     }
 
     /**
@@ -176,6 +228,7 @@ public class LinkedList<E> {
      *
      * @return 删除元素
      */
+    @Override
     public E removeFirst() {
         return remove(0);
     }
@@ -185,6 +238,7 @@ public class LinkedList<E> {
      *
      * @return 删除元素
      */
+    @Override
     public E removeLast() {
         return remove(size - 1);
     }
@@ -194,6 +248,7 @@ public class LinkedList<E> {
      *
      * @param e 元素
      */
+    @Override
     public void removeElement(E e) {
         Node prev = dummyHead;
         while (prev.next != null) {
@@ -204,11 +259,26 @@ public class LinkedList<E> {
         }
 
         if (prev.next != null) {
-            Node retNode = prev.next;
-            prev.next = retNode.next;
-            retNode.next = null;
-            size--;
+            unlinkAfter(prev);
+        }
+    }
+
+    /**
+     * 删除所有满足条件的元素，一次遍历完成
+     *
+     * @param filter 条件
+     * @return 删除的元素个数
+     */
+    public int removeIf(Predicate<? super E> filter) {
+        int removed = 0;
+        ListCursor<E> cursor = cursor();
+        while (cursor.hasNext()) {
+            if (filter.test(cursor.next())) {
+                cursor.remove();
+                removed++;
+            }
         }
+        return removed;
     }
 
     /**
@@ -217,17 +287,13 @@ public class LinkedList<E> {
      * @param index 索引
      * @return 元素
      */
+    @Override
     public E get(int index) {
         if (index < 0 || index >= size) {
             throw new IllegalArgumentException("添加失败，索引越界");
         }
 
-        Node prev = dummyHead.next;
-        for (int i = 0; i < index; i++) {
-            prev = prev.next;
-        }
-
-        return prev.e;
+        return node(index).e;
     }
 
     /**
@@ -235,6 +301,7 @@ public class LinkedList<E> {
      *
      * @return 元素
      */
+    @Override
     public E getFirst() {
         return get(0);
     }
@@ -244,8 +311,191 @@ public class LinkedList<E> {
      *
      * @return 元素
      */
+    @Override
     public E getLast() {
-        return get(size);
+        if (size == 0) {
+            throw new IllegalArgumentException("获取失败，链表为空");
+        }
+
+        return tail.e;
+    }
+
+    /**
+     * 获取新分配的节点个数，使用节点池时稳定负载下不再增长
+     *
+     * @return 分配次数
+     */
+    public long getAllocationCount() {
+        return allocationCount;
+    }
+
+    /**
+     * 获取位于表头之前的游标
+     *
+     * @return 游标
+     */
+    public ListCursor<E> cursor() {
+        return new Cursor();
+    }
+
+    @Override
+    public ListCursor<E> iterator() {
+        return cursor();
+    }
+
+    /**
+     * 游标实现，记录游标前的节点以及最近返回节点的前驱，单向模式下删除也是O(1)
+     */
+    private class Cursor implements ListCursor<E> {
+
+        /**
+         * 游标前的节点
+         */
+        private Node prev = dummyHead;
+
+        /**
+         * 最近一次next()返回的节点及其前驱，没有时为null
+         */
+        private Node lastReturned, beforeLast;
+
+        @Override
+        public boolean hasNext() {
+            return prev.next != null;
+        }
+
+        @Override
+        public E next() {
+            if (prev.next == null) {
+                throw new NoSuchElementException();
+            }
+            beforeLast = prev;
+            lastReturned = prev.next;
+            prev = lastReturned;
+            return lastReturned.e;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("没有可删除的元素");
+            }
+            unlinkAfter(beforeLast);
+            prev = beforeLast;
+            lastReturned = null;
+        }
+
+        @Override
+        public void add(E e) {
+            prev = linkAfter(prev, e);
+            lastReturned = null;
+        }
+
+        @Override
+        public void set(E e) {
+            if (lastReturned == null) {
+                throw new IllegalStateException("没有可修改的元素");
+            }
+            lastReturned.e = e;
+        }
+    }
+
+    /**
+     * 定位索引index处的节点，index为-1时返回头节点。双向模式下从较近的一端开始
+     *
+     * @param index 索引
+     * @return 节点
+     */
+    private Node node(int index) {
+        if (doubly && index >= size / 2) {
+            Node cur = tail;
+            for (int i = size - 1; i > index; i--) {
+                cur = cur.prev;
+            }
+            return cur;
+        }
+
+        Node cur = dummyHead;
+        for (int i = -1; i < index; i++) {
+            cur = cur.next;
+        }
+        return cur;
+    }
+
+    /**
+     * 在节点prev之后插入元素e
+     *
+     * @param prev 前驱节点
+     * @param e    元素
+     * @return 新节点
+     */
+    private Node linkAfter(Node prev, E e) {
+        Node node = newNode(e, prev.next);
+        prev.next = node;
+        if (doubly) {
+            node.prev = prev;
+            if (node.next != null) {
+                node.next.prev = node;
+            }
+        }
+        if (prev == tail) {
+            tail = node;
+        }
+        size++;
+        return node;
+    }
+
+    /**
+     * 删除节点prev之后的节点
+     *
+     * @param prev 前驱节点
+     * @return 删除的元素
+     */
+    private E unlinkAfter(Node prev) {
+        Node retNode = prev.next;
+        prev.next = retNode.next;
+        if (doubly && retNode.next != null) {
+            retNode.next.prev = prev;
+        }
+        if (retNode == tail) {
+            tail = prev;
+        }
+        size--;
+
+        E ret = retNode.e;
+        release(retNode);
+        return ret;
+    }
+
+    /**
+     * 创建节点，优先从节点池中取
+     *
+     * @param e    元素
+     * @param next 下一个节点
+     * @return 节点
+     */
+    private Node newNode(E e, Node next) {
+        Node node = pool == null ? null : pool.poll();
+        if (node == null) {
+            allocationCount++;
+            return new Node(e, next);
+        }
+        node.e = e;
+        node.next = next;
+        return node;
+    }
+
+    /**
+     * 清空被删除节点的引用，节点池未满时回收
+     *
+     * @param node 节点
+     */
+    private void release(Node node) {
+        node.e = null;
+        node.next = null;
+        node.prev = null;
+        if (pool != null) {
+            pool.offer(node);
+        }
     }
 
     @Override
@@ -302,5 +552,25 @@ public class LinkedList<E> {
         } else {
             System.out.println("链表不为空");
         }
+
+        // 原地过滤：逐个removeElement每次都从表头查找，游标一次遍历完成
+        int n = 20000;
+        LinkedList<Integer> list = new LinkedList<>();
+        for (int i = 0; i < n; i++) {
+            list.addLast(i);
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < n; i += 2) {
+            list.removeElement(i);
+        }
+        System.out.println("removeElement : " + (System.nanoTime() - startTime) / 1000000000.0 + " s, size " + list.getSize());
+
+        list = new LinkedList<>();
+        for (int i = 0; i < n; i++) {
+            list.addLast(i);
+        }
+        startTime = System.nanoTime();
+        list.removeIf(e -> e % 2 == 0);
+        System.out.println("removeIf : " + (System.nanoTime() - startTime) / 1000000000.0 + " s, size " + list.getSize());
     }
 }
@@ -0,0 +1,37 @@
+package com.itnear.structure.linkedlist;
+
+/**
+ * 描述：线性表接口，链式栈、队列、集合可以选择不同的实现作为底层存储
+ * 作者：NearJC
+ * 时间：2020/02/20
+ */
+public interface List<E> {
+
+    int getSize();
+
+    boolean isEmpty();
+
+    void add(int index, E e);
+
+    void addFirst(E e);
+
+    void addLast(E e);
+
+    void set(int index, E e);
+
+    boolean contains(E e);
+
+    E remove(int index);
+
+    E removeFirst();
+
+    E removeLast();
+
+    void removeElement(E e);
+
+    E get(int index);
+
+    E getFirst();
+
+    E getLast();
+}
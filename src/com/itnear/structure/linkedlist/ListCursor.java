@@ -0,0 +1,31 @@
+package com.itnear.structure.linkedlist;
+
+import java.util.Iterator;
+
+/**
+ * 描述：链表游标，位于两个元素之间，在当前位置删除、插入、修改都是O(1)
+ * 作者：NearJC
+ * 时间：2020/02/20
+ */
+public interface ListCursor<E> extends Iterator<E> {
+
+    /**
+     * 删除最近一次next()返回的元素
+     */
+    @Override
+    void remove();
+
+    /**
+     * 在游标位置插入元素，插入后游标位于新元素之后，下一次next()不受影响
+     *
+     * @param e 元素
+     */
+    void add(E e);
+
+    /**
+     * 修改最近一次next()返回的元素
+     *
+     * @param e 元素
+     */
+    void set(E e);
+}
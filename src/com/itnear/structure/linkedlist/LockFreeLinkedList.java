@@ -0,0 +1,255 @@
+package com.itnear.structure.linkedlist;
+
+import com.itnear.structure.set.Set;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * 描述：链表 - 无锁有序链表集合（Harris-Michael算法）。删除分两步：先标记被删节点的next指针（逻辑删除），
+ * 再由删除者或之后经过的线程用CAS把它从链表中摘除（物理删除）。
+ * Java不能在指针低位存放标记，这里用标记节点代替：把被删节点的next从succ改为指向succ的标记节点，
+ * 此后对该节点next的CAS都会失败，效果与带标记的指针相同，但遍历时每一步只有一次访存，
+ * 也不像AtomicMarkableReference那样每次修改都分配新的(引用,标记)对象
+ * 作者：NearJC
+ * 时间：2020/02/21
+ */
+public class LockFreeLinkedList<E extends Comparable<E>> implements Set<E> {
+
+    /**
+     * 链表节点结构
+     */
+    private static class Node<E> {
+        /**
+         * 节点元素，哨兵和标记节点为null
+         */
+        final E e;
+
+        /**
+         * 下一个节点
+         */
+        volatile Node<E> next;
+
+        /**
+         * 是否为标记节点：next指向标记节点的节点已被逻辑删除
+         */
+        final boolean marker;
+
+        Node(E e, Node<E> next, boolean marker) {
+            this.e = e;
+            this.next = next;
+            this.marker = marker;
+        }
+
+        boolean casNext(Node<E> expect, Node<E> update) {
+            return NEXT.compareAndSet(this, expect, update);
+        }
+
+        /**
+         * 是否已被逻辑删除
+         */
+        boolean isDeleted() {
+            Node<E> n = next;
+            return n != null && n.marker;
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+    /**
+     * 查找结果：pred.e < e <= curr.e
+     */
+    private static class Window<E> {
+        final Node<E> pred, curr;
+
+        Window(Node<E> pred, Node<E> curr) {
+            this.pred = pred;
+            this.curr = curr;
+        }
+    }
+
+    /**
+     * 头哨兵（负无穷）、尾哨兵（正无穷）
+     */
+    private final Node<E> head, tail;
+
+    /**
+     * 元素个数，并发修改时为近似值
+     */
+    private final AtomicInteger size;
+
+    public LockFreeLinkedList() {
+        this.tail = new Node<>(null, null, false);
+        this.head = new Node<>(null, tail, false);
+        this.size = new AtomicInteger();
+    }
+
+    /**
+     * 添加元素e
+     *
+     * @param e 元素
+     */
+    @Override
+    public void add(E e) {
+        insert(e);
+    }
+
+    /**
+     * 添加元素e
+     *
+     * @param e 元素
+     * @return 添加成功返回true，元素已存在返回false
+     */
+    public boolean insert(E e) {
+        if (e == null) {
+            throw new IllegalArgumentException("元素不能为null");
+        }
+
+        while (true) {
+            Window<E> window = find(e);
+            Node<E> curr = window.curr;
+            if (curr != tail && curr.e.compareTo(e) == 0) {
+                return false;
+            }
+
+            // pred被逻辑删除后next指向标记节点，CAS会失败，不会插到已删除的节点之后
+            Node<E> node = new Node<>(e, curr, false);
+            if (window.pred.casNext(curr, node)) {
+                size.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 删除元素e
+     *
+     * @param e 元素
+     */
+    @Override
+    public void remove(E e) {
+        delete(e);
+    }
+
+    /**
+     * 删除元素e
+     *
+     * @param e 元素
+     * @return 删除成功返回true，元素不存在返回false
+     */
+    public boolean delete(E e) {
+        if (e == null) {
+            return false;
+        }
+
+        while (true) {
+            Window<E> window = find(e);
+            Node<E> curr = window.curr;
+            if (curr == tail || curr.e.compareTo(e) != 0) {
+                return false;
+            }
+
+            // 逻辑删除：插入标记节点成功的线程就是删除者
+            Node<E> succ = curr.next;
+            if (succ.marker || !curr.casNext(succ, new Node<>(null, succ, true))) {
+                continue;
+            }
+            size.decrementAndGet();
+
+            // 物理删除：失败说明pred已变化，留给之后的find摘除
+            window.pred.casNext(curr, succ);
+            return true;
+        }
+    }
+
+    /**
+     * 判断元素e是否存在集合中，只读遍历，不加锁也不重试
+     *
+     * @param e 元素
+     * @return 存在返回true，否则返回false
+     */
+    @Override
+    public boolean contains(E e) {
+        if (e == null) {
+            return false;
+        }
+
+        Node<E> curr = head.next;
+        while (curr != tail && (curr.marker || curr.e.compareTo(e) < 0)) {
+            curr = curr.next;
+        }
+        return curr != tail && curr.e.compareTo(e) == 0 && !curr.isDeleted();
+    }
+
+    /**
+     * 获取集合元素个数
+     *
+     * @return 元素个数
+     */
+    @Override
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * 判断集合是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * 查找第一个不小于e的未删除节点及其前驱，途中摘除已被逻辑删除的节点
+     *
+     * @param e 元素
+     * @return 查找结果
+     */
+    private Window<E> find(E e) {
+        retry:
+        while (true) {
+            Node<E> pred = head;
+            Node<E> curr = pred.next;
+            while (true) {
+                if (curr == tail) {
+                    return new Window<>(pred, curr);
+                }
+
+                Node<E> succ = curr.next;
+                if (succ.marker) {
+                    // curr已被逻辑删除，连同标记节点一起摘除
+                    if (!pred.casNext(curr, succ.next)) {
+                        continue retry;
+                    }
+                    curr = succ.next;
+                    continue;
+                }
+
+                if (curr.e.compareTo(e) >= 0) {
+                    return new Window<>(pred, curr);
+                }
+                pred = curr;
+                curr = succ;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+
+        res.append(String.format("LockFreeLinkedList：元素个数：%d\n", getSize()));
+        for (Node<E> cur = head.next; cur != tail; cur = cur.next) {
+            if (!cur.marker && !cur.isDeleted()) {
+                res.append(cur.e).append("->");
+            }
+        }
+        res.append("NULL");
+
+        return res.toString();
+    }
+}
@@ -0,0 +1,157 @@
+package com.itnear.structure.linkedlist;
+
+import java.util.Arrays;
+
+/**
+ * 描述：节点池 - 有界空闲链表，回收被删除的节点供之后的插入复用，池满时多余的节点交给GC。
+ * 开启线程本地缓存后可被多个线程共享：每个线程先在本地缓存中存取，本地缓存空或满时
+ * 才加锁与共享空闲表成批交换一半，锁竞争与批次大小成反比。
+ * 复用节点会引入ABA问题，无锁结构不能使用节点池
+ * 作者：NearJC
+ * 时间：2020/02/22
+ */
+public class NodePool<N> {
+
+    /**
+     * 共享空闲表
+     */
+    private final Object[] free;
+
+    /**
+     * 共享空闲表中的节点个数
+     */
+    private int size;
+
+    /**
+     * 线程本地缓存容量，0表示不使用线程本地缓存（非线程安全）
+     */
+    private final int localCapacity;
+
+    /**
+     * 线程本地缓存
+     */
+    private final ThreadLocal<Local> locals;
+
+    /**
+     * 线程本地缓存结构
+     */
+    private static class Local {
+        final Object[] items;
+        int size;
+
+        Local(int capacity) {
+            this.items = new Object[capacity];
+        }
+    }
+
+    /**
+     * @param capacity      共享空闲表容量
+     * @param localCapacity 每个线程的本地缓存容量，大于0时节点池线程安全
+     */
+    public NodePool(int capacity, int localCapacity) {
+        if (capacity < 0 || localCapacity < 0) {
+            throw new IllegalArgumentException("容量不能为负数");
+        }
+        this.free = new Object[capacity];
+        this.size = 0;
+        this.localCapacity = localCapacity;
+        this.locals = localCapacity > 0 ? ThreadLocal.withInitial(() -> new Local(localCapacity)) : null;
+    }
+
+    /**
+     * 单线程节点池
+     *
+     * @param capacity 空闲表容量
+     */
+    public NodePool(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * 取出一个空闲节点
+     *
+     * @return 节点，没有空闲节点时返回null，由调用者新建
+     */
+    public N poll() {
+        if (locals == null) {
+            if (size == 0) {
+                return null;
+            }
+            @SuppressWarnings("unchecked")
+            N node = (N) free[--size];
+            free[size] = null;
+            return node;
+        }
+
+        Local local = locals.get();
+        if (local.size == 0 && !refill(local)) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        N node = (N) local.items[--local.size];
+        local.items[local.size] = null;
+        return node;
+    }
+
+    /**
+     * 归还节点，调用者负责先清空节点中的引用。使用线程本地缓存时节点总能放入本地缓存，
+     * 但本地缓存已满时要先把一半交回共享空闲表，共享空闲表放不下的节点会被丢弃
+     *
+     * @param node 节点
+     * @return 没有节点被丢弃返回true，池已满（本节点或交回的节点被丢弃）返回false
+     */
+    public boolean offer(N node) {
+        if (locals == null) {
+            if (size == free.length) {
+                return false;
+            }
+            free[size++] = node;
+            return true;
+        }
+
+        Local local = locals.get();
+        boolean kept = local.size < localCapacity || flush(local);
+        local.items[local.size++] = node;
+        return kept;
+    }
+
+    /**
+     * 获取共享空闲表中的节点个数，不含线程本地缓存
+     *
+     * @return 节点个数
+     */
+    public synchronized int getSize() {
+        return size;
+    }
+
+    /**
+     * 从共享空闲表取一批节点放入本地缓存
+     *
+     * @param local 本地缓存
+     * @return 取到节点返回true
+     */
+    private synchronized boolean refill(Local local) {
+        int n = Math.min(size, (localCapacity + 1) / 2);
+        System.arraycopy(free, size - n, local.items, 0, n);
+        Arrays.fill(free, size - n, size, null);
+        size -= n;
+        local.size = n;
+        return n > 0;
+    }
+
+    /**
+     * 把本地缓存的一半节点交回共享空闲表，共享空闲表放不下的丢弃
+     *
+     * @param local 本地缓存
+     * @return 全部放入共享空闲表返回true，有节点被丢弃返回false
+     */
+    private synchronized boolean flush(Local local) {
+        int n = (localCapacity + 1) / 2;
+        int kept = Math.min(n, free.length - size);
+        System.arraycopy(local.items, local.size - n, free, size, kept);
+        Arrays.fill(local.items, local.size - n, local.size, null);
+        size += kept;
+        local.size -= n;
+        return kept == n;
+    }
+}
@@ -0,0 +1,250 @@
+package com.itnear.structure.linkedlist;
+
+import com.itnear.structure.set.LinkedListSet;
+import com.itnear.structure.set.Set;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * 测试类
+ */
+public class TestUtil {
+
+    /**
+     * 操作类型
+     */
+    private static final int ADD = 0, REMOVE = 1, CONTAINS = 2;
+
+    /**
+     * 一次操作的记录：调用与返回时刻、类型、结果
+     */
+    private static class Operation {
+        private final long invoke, response;
+        private final int type;
+        private final boolean result;
+
+        Operation(long invoke, long response, int type, boolean result) {
+            this.invoke = invoke;
+            this.response = response;
+            this.type = type;
+            this.result = result;
+        }
+    }
+
+    /**
+     * 线性一致性检查（Wing & Gong）：寻找一个与实时顺序相容、且每个结果都符合集合语义的全序。
+     * 不同键上的操作互不影响，集合的线性一致性可以按键分别检查
+     *
+     * @param ops     同一个键上的操作
+     * @param present 初始时键是否存在
+     * @return 存在合法的线性化顺序返回true
+     */
+    private static boolean linearizable(Operation[] ops, boolean present) {
+        return linearizable(ops, (1L << ops.length) - 1, present, new HashMap<>());
+    }
+
+    private static boolean linearizable(Operation[] ops, long remaining, boolean present, HashMap<Long, Boolean> memo) {
+        if (remaining == 0) {
+            return true;
+        }
+        long key = remaining << 1 | (present ? 1 : 0);
+        Boolean cached = memo.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 只有调用时刻早于所有剩余操作返回时刻的操作才能排在最前
+        long minResponse = Long.MAX_VALUE;
+        for (int i = 0; i < ops.length; i++) {
+            if ((remaining >> i & 1) != 0) {
+                minResponse = Math.min(minResponse, ops[i].response);
+            }
+        }
+
+        boolean ok = false;
+        for (int i = 0; i < ops.length && !ok; i++) {
+            Operation op = ops[i];
+            if ((remaining >> i & 1) == 0 || op.invoke > minResponse) {
+                continue;
+            }
+
+            boolean expected = op.type == ADD ? !present : present;
+            if (op.result != expected) {
+                continue;
+            }
+            boolean next = op.type == ADD ? true : op.type == REMOVE ? false : present;
+            ok = linearizable(ops, remaining & ~(1L << i), next, memo);
+        }
+
+        memo.put(key, ok);
+        return ok;
+    }
+
+    /**
+     * 线性一致性压力测试：多轮，每轮多个线程在少量键上并发增删查，记录历史后逐键检查。
+     * 只有操作在时间上真正重叠时检查才有意义：单核机器上线程只在时间片用完时切换，
+     * 很少停在一次操作的CAS之间，这里在操作之间随机让出CPU以增加交错，
+     * 但操作内部的交错仍然要在多核机器上运行才能充分覆盖
+     *
+     * @param rounds  轮数
+     * @param threads 线程数
+     * @param ops     每个线程每轮的操作次数，threads * ops不能超过62
+     * @param keys    键的个数
+     */
+    private static void testLinearizability(int rounds, int threads, int ops, int keys) throws Exception {
+        for (int round = 0; round < rounds; round++) {
+            LockFreeLinkedList<Integer> set = new LockFreeLinkedList<>();
+            boolean[] initial = new boolean[keys];
+            Random random = new Random(round);
+            for (int k = 0; k < keys; k++) {
+                if (random.nextBoolean()) {
+                    set.insert(k);
+                    initial[k] = true;
+                }
+            }
+
+            int[][] opKeys = new int[threads][ops];
+            Operation[][] results = new Operation[threads][ops];
+            CyclicBarrier barrier = new CyclicBarrier(threads);
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                final int id = t;
+                final long seed = (long) round * threads + t;
+                workers[t] = new Thread(() -> {
+                    Random rnd = new Random(seed);
+                    try {
+                        barrier.await();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    for (int i = 0; i < ops; i++) {
+                        if (rnd.nextBoolean()) {
+                            Thread.yield();
+                        }
+                        int key = rnd.nextInt(keys);
+                        int type = rnd.nextInt(3);
+                        long invoke = System.nanoTime();
+                        boolean result = type == ADD ? set.insert(key) : type == REMOVE ? set.delete(key) : set.contains(key);
+                        long response = System.nanoTime();
+                        opKeys[id][i] = key;
+                        results[id][i] = new Operation(invoke, response, type, result);
+                    }
+                });
+                workers[t].start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            for (int k = 0; k < keys; k++) {
+                int n = 0;
+                Operation[] perKey = new Operation[threads * ops];
+                for (int t = 0; t < threads; t++) {
+                    for (int i = 0; i < ops; i++) {
+                        if (opKeys[t][i] == k) {
+                            perKey[n++] = results[t][i];
+                        }
+                    }
+                }
+                if (!linearizable(Arrays.copyOf(perKey, n), initial[k])) {
+                    throw new IllegalStateException("第" + round + "轮键" + k + "的历史不满足线性一致性");
+                }
+            }
+        }
+    }
+
+    /**
+     * 混合读写吞吐量测试：80%查找、10%添加、10%删除
+     *
+     * @param set     集合
+     * @param threads 线程数
+     * @param m       每个线程的操作次数
+     * @param keys    键的范围
+     * @return 每秒操作次数（百万）
+     */
+    private static double testThroughput(Set<Integer> set, int threads, int m, int keys) throws InterruptedException {
+        for (int k = 0; k < keys; k += 2) {
+            set.add(k);
+        }
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(id);
+                for (int i = 0; i < m; i++) {
+                    int key = random.nextInt(keys);
+                    int op = random.nextInt(10);
+                    if (op == 0) {
+                        set.add(key);
+                    } else if (op == 1) {
+                        set.remove(key);
+                    } else {
+                        set.contains(key);
+                    }
+                }
+            });
+        }
+
+        long startTime = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long endTime = System.nanoTime();
+        return (double) threads * m / (endTime - startTime) * 1000;
+    }
+
+    /**
+     * 整体加锁的链表集合，作为并发测试的对照
+     */
+    private static class SynchronizedLinkedListSet<E> implements Set<E> {
+
+        private final LinkedListSet<E> set = new LinkedListSet<>();
+
+        @Override
+        public synchronized void add(E e) {
+            set.add(e);
+        }
+
+        @Override
+        public synchronized boolean contains(E e) {
+            return set.contains(e);
+        }
+
+        @Override
+        public synchronized void remove(E e) {
+            set.remove(e);
+        }
+
+        @Override
+        public synchronized int getSize() {
+            return set.getSize();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return set.isEmpty();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        testLinearizability(2000, 4, 8, 2);
+        System.out.println("Linearizability : 2000 rounds passed");
+
+        int m = 200000;
+        int keys = 1000;
+        int maxThreads = Math.max(16, Runtime.getRuntime().availableProcessors());
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double sync = testThroughput(new SynchronizedLinkedListSet<>(), threads, m, keys);
+            double lockFree = testThroughput(new LockFreeLinkedList<>(), threads, m, keys);
+            System.out.println(String.format("%2d threads : SynchronizedLinkedListSet %.2f Mops/s, LockFreeLinkedList %.2f Mops/s",
+                    threads, sync, lockFree));
+        }
+    }
+}
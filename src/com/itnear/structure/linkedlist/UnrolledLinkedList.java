@@ -0,0 +1,506 @@
+package com.itnear.structure.linkedlist;
+
+import com.itnear.util.MemoryStats;
+
+import java.util.Random;
+
+/**
+ * 描述：链表 - 展开链表，每个节点存放一小段连续的元素，节点满时分裂，元素过少时与相邻节点合并。
+ * 按索引访问时整节点跳过，顺序遍历时同一节点内的元素在内存中连续
+ * 作者：NearJC
+ * 时间：2020/02/20
+ */
+public class UnrolledLinkedList<E> implements List<E> {
+
+    /**
+     * 默认节点容量
+     */
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+
+    /**
+     * 链表节点结构
+     */
+    private class Node {
+        /**
+         * 节点元素，[0, count)有效
+         */
+        private E[] elements;
+
+        /**
+         * 元素个数
+         */
+        private int count;
+
+        /**
+         * 上一个、下一个节点
+         */
+        private Node prev, next;
+
+        public Node() {
+            this.elements = (E[]) new Object[nodeCapacity];
+            this.count = 0;
+        }
+    }
+
+    /**
+     * 首节点、尾节点，链表为空时为null
+     */
+    private Node first, last;
+
+    /**
+     * 节点容量
+     */
+    private final int nodeCapacity;
+
+    /**
+     * 元素个数
+     */
+    private int size;
+
+    /**
+     * node(index)定位到的节点内偏移
+     */
+    private int offset;
+
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 4) {
+            throw new IllegalArgumentException("节点容量不能小于4");
+        }
+        this.nodeCapacity = nodeCapacity;
+        this.size = 0;
+    }
+
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * 获取元素个数
+     *
+     * @return 元素个数
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 判断链表是否为空
+     *
+     * @return 空返回true，否则返回false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 根据索引添加元素，所在节点已满时先分裂成两个半满的节点
+     *
+     * @param index 索引
+     * @param e     元素
+     */
+    @Override
+    public void add(int index, E e) {
+        if (index < 0 || index > size) {
+            throw new IllegalArgumentException("添加失败，索引越界");
+        }
+
+        Node node;
+        int pos;
+        if (size == 0) {
+            node = linkAfter(null);
+            pos = 0;
+        } else if (index == size) {
+            // 尾部追加：尾节点满时直接开新节点，保持节点全满
+            node = last.count < nodeCapacity ? last : linkAfter(last);
+            pos = node.count;
+        } else if (index == 0 && first.count == nodeCapacity) {
+            // 头部插入：首节点满时在前面开新节点
+            node = linkBefore(first);
+            pos = 0;
+        } else {
+            node = node(index);
+            pos = offset;
+            if (node.count == nodeCapacity) {
+                Node next = split(node);
+                if (pos > node.count) {
+                    pos -= node.count;
+                    node = next;
+                }
+            }
+        }
+
+        System.arraycopy(node.elements, pos, node.elements, pos + 1, node.count - pos);
+        node.elements[pos] = e;
+        node.count++;
+        size++;
+    }
+
+    /**
+     * 在表头添加元素e
+     *
+     * @param e 元素
+     */
+    @Override
+    public void addFirst(E e) {
+        add(0, e);
+    }
+
+    /**
+     * 在表尾添加新的元素e
+     *
+     * @param e 元素
+     */
+    @Override
+    public void addLast(E e) {
+        add(size, e);
+    }
+
+    /**
+     * 根据索引index修改元素
+     *
+     * @param index 索引
+     * @param e     元素
+     */
+    @Override
+    public void set(int index, E e) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("修改失败，索引越界");
+        }
+
+        Node node = node(index);
+        node.elements[offset] = e;
+    }
+
+    /**
+     * 查找链表中是否有元素e
+     *
+     * @param e 元素
+     * @return 存在时返回true，否则返回false
+     */
+    @Override
+    public boolean contains(E e) {
+        for (Node node = first; node != null; node = node.next) {
+            if (indexInNode(node, e) >= 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 根据索引移除元素，并返回移除的元素
+     *
+     * @param index 索引
+     * @return 移除元素
+     */
+    @Override
+    public E remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("删除失败，索引越界");
+        }
+
+        Node node = node(index);
+        return removeAt(node, offset);
+    }
+
+    /**
+     * 移除表头，并返回删除元素
+     *
+     * @return 删除元素
+     */
+    @Override
+    public E removeFirst() {
+        return remove(0);
+    }
+
+    /**
+     * 移除链表的最后一个元素，并返回删除元素
+     *
+     * @return 删除元素
+     */
+    @Override
+    public E removeLast() {
+        return remove(size - 1);
+    }
+
+    /**
+     * 从链表中删除指定元素e（第一次出现的位置）
+     *
+     * @param e 元素
+     */
+    @Override
+    public void removeElement(E e) {
+        for (Node node = first; node != null; node = node.next) {
+            int pos = indexInNode(node, e);
+            if (pos >= 0) {
+                removeAt(node, pos);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 根据索引index获取元素
+     *
+     * @param index 索引
+     * @return 元素
+     */
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("获取失败，索引越界");
+        }
+
+        Node node = node(index);
+        return node.elements[offset];
+    }
+
+    /**
+     * 获取链表的第一个元素
+     *
+     * @return 元素
+     */
+    @Override
+    public E getFirst() {
+        return get(0);
+    }
+
+    /**
+     * 获取最后一个元素
+     *
+     * @return 元素
+     */
+    @Override
+    public E getLast() {
+        return get(size - 1);
+    }
+
+    /**
+     * 定位索引index所在的节点，从较近的一端开始整节点跳过，节点内偏移存入offset
+     *
+     * @param index 索引（0 <= index < size）
+     * @return 节点
+     */
+    private Node node(int index) {
+        if (index < size / 2) {
+            Node node = first;
+            while (index >= node.count) {
+                index -= node.count;
+                node = node.next;
+            }
+            offset = index;
+            return node;
+        }
+
+        Node node = last;
+        int end = size;
+        while (index < end - node.count) {
+            end -= node.count;
+            node = node.prev;
+        }
+        offset = index - (end - node.count);
+        return node;
+    }
+
+    /**
+     * 在节点内查找元素e
+     *
+     * @param node 节点
+     * @param e    元素
+     * @return 节点内偏移，不存在返回-1
+     */
+    private int indexInNode(Node node, E e) {
+        E[] elements = node.elements;
+        for (int i = 0; i < node.count; i++) {
+            if (elements[i].equals(e)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 删除节点node中偏移pos处的元素，节点不足半满时尝试与相邻节点合并
+     *
+     * @param node 节点
+     * @param pos  节点内偏移
+     * @return 删除的元素
+     */
+    private E removeAt(Node node, int pos) {
+        E ret = node.elements[pos];
+        System.arraycopy(node.elements, pos + 1, node.elements, pos, node.count - pos - 1);
+        node.elements[--node.count] = null;
+        size--;
+
+        if (node.count == 0) {
+            unlink(node);
+        } else if (node.count < nodeCapacity / 2) {
+            if (node.next != null && node.count + node.next.count <= nodeCapacity) {
+                merge(node, node.next);
+            } else if (node.prev != null && node.prev.count + node.count <= nodeCapacity) {
+                merge(node.prev, node);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * 把节点node后一半元素移到新节点中，新节点插在node之后
+     *
+     * @param node 已满的节点
+     * @return 新节点
+     */
+    private Node split(Node node) {
+        Node next = linkAfter(node);
+        int half = node.count / 2;
+        int moved = node.count - half;
+        System.arraycopy(node.elements, half, next.elements, 0, moved);
+        for (int i = half; i < node.count; i++) {
+            node.elements[i] = null;
+        }
+        node.count = half;
+        next.count = moved;
+        return next;
+    }
+
+    /**
+     * 把next的元素全部移到node末尾，并删除next
+     *
+     * @param node 节点
+     * @param next node的下一个节点
+     */
+    private void merge(Node node, Node next) {
+        System.arraycopy(next.elements, 0, node.elements, node.count, next.count);
+        node.count += next.count;
+        unlink(next);
+    }
+
+    /**
+     * 在prev之后插入一个空节点，prev为null时作为唯一节点
+     *
+     * @param prev 前一个节点
+     * @return 新节点
+     */
+    private Node linkAfter(Node prev) {
+        Node node = new Node();
+        if (prev == null) {
+            first = last = node;
+            return node;
+        }
+
+        node.prev = prev;
+        node.next = prev.next;
+        if (prev.next == null) {
+            last = node;
+        } else {
+            prev.next.prev = node;
+        }
+        prev.next = node;
+        return node;
+    }
+
+    /**
+     * 在next之前插入一个空节点
+     *
+     * @param next 后一个节点
+     * @return 新节点
+     */
+    private Node linkBefore(Node next) {
+        if (next.prev != null) {
+            return linkAfter(next.prev);
+        }
+
+        Node node = new Node();
+        node.next = next;
+        next.prev = node;
+        first = node;
+        return node;
+    }
+
+    /**
+     * 从链表中摘除节点
+     *
+     * @param node 节点
+     */
+    private void unlink(Node node) {
+        if (node.prev == null) {
+            first = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            last = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = node.next = null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+
+        res.append(String.format("UnrolledLinkedList：链表元素个数：%d\n", getSize()));
+        for (Node node = first; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                res.append(node.elements[i]).append("->");
+            }
+        }
+        res.append("NULL");
+
+        return res.toString();
+    }
+
+    /**
+     * 随机按索引读取与查找测试
+     *
+     * @param list 链表
+     * @param n    元素个数
+     * @return 耗时（秒）
+     */
+    private static double testList(List<Integer> list, int n) {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            list.addFirst(i);
+        }
+
+        Random random = new Random(1);
+        for (int i = 0; i < n; i++) {
+            list.get(random.nextInt(n));
+        }
+        for (int i = 0; i < 100; i++) {
+            list.contains(-1);
+        }
+        while (!list.isEmpty()) {
+            list.removeFirst();
+        }
+        return (System.nanoTime() - startTime) / 1000000000.0;
+    }
+
+    public static void main(String[] args) {
+        int n = 20000;
+        System.out.println(String.format("LinkedList         : %.3f s", testList(new LinkedList<>(), n)));
+        System.out.println(String.format("UnrolledLinkedList : %.3f s", testList(new UnrolledLinkedList<>(), n)));
+
+        // 每个元素的额外开销，元素使用同一个对象，只统计链表本身
+        n = 1000000;
+        Integer e = 1;
+        long before = MemoryStats.usedMemory();
+        LinkedList<Integer> linkedList = new LinkedList<>();
+        for (int i = 0; i < n; i++) {
+            linkedList.addFirst(e);
+        }
+        System.out.println(String.format("LinkedList         : %.1f bytes/element", (double) (MemoryStats.usedMemory() - before) / n));
+        linkedList = null;
+
+        before = MemoryStats.usedMemory();
+        UnrolledLinkedList<Integer> unrolled = new UnrolledLinkedList<>();
+        for (int i = 0; i < n; i++) {
+            unrolled.addFirst(e);
+        }
+        System.out.println(String.format("UnrolledLinkedList : %.1f bytes/element", (double) (MemoryStats.usedMemory() - before) / n));
+    }
+}
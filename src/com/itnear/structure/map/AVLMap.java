@@ -2,6 +2,9 @@ package com.itnear.structure.map;
 
 import com.itnear.structure.tree.avl.AVLTree;
 
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 /**
  * 描述：AVL树映射
  * 作者：NearJC
@@ -89,4 +92,53 @@ public class AVLMap<K extends Comparable<K>, V> implements Map<K, V> {
     public boolean isEmpty() {
         return tree.isEmpty();
     }
-}
\ No newline at end of file
+
+    /**
+     * 根据键获取值，键不存在时返回defaultValue
+     *
+     * @param key          键
+     * @param defaultValue 默认值
+     * @return 值
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        return tree.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * 用remappingFunction根据键key和旧值计算新值，新值为null时删除该键
+     *
+     * @param key               键
+     * @param remappingFunction 计算函数
+     * @return 新值
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return tree.compute(key, remappingFunction);
+    }
+
+    /**
+     * 键key不存在时用mappingFunction计算值并添加
+     *
+     * @param key             键
+     * @param mappingFunction 计算函数
+     * @return 当前值
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return tree.computeIfAbsent(key, mappingFunction);
+    }
+
+    /**
+     * 键key不存在时添加value，否则用remappingFunction合并旧值与value
+     *
+     * @param key               键
+     * @param value             值
+     * @param remappingFunction 合并函数
+     * @return 新值
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return tree.merge(key, value, remappingFunction);
+    }
+}
@@ -1,5 +1,7 @@
 package com.itnear.structure.map;
 
+import java.util.function.BiFunction;
+
 /**
  * 描述：二分搜索树映射
  * 作者：NearJC
@@ -44,6 +46,11 @@ public class BSTMap<K extends Comparable<K>, V> implements Map<K, V> {
      */
     private int size;
 
+    /**
+     * compute递归过程中算出的新值，由compute(K, BiFunction)取走后清空
+     */
+    private V computedValue;
+
     public BSTMap() {
         this.root = null;
         this.size = 0;
@@ -84,6 +91,59 @@ public class BSTMap<K extends Comparable<K>, V> implements Map<K, V> {
         return node;
     }
 
+    /**
+     * 用remappingFunction根据键key和旧值（不存在时为null）计算新值，新值为null时删除该键，只需一次从根到叶的查找
+     *
+     * @param key               键
+     * @param remappingFunction 计算函数
+     * @return 新值
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        root = compute(root, key, remappingFunction);
+        V newValue = computedValue;
+        computedValue = null;
+        return newValue;
+    }
+
+    /**
+     * 在以node为根的二分搜索树中对键key执行compute，递归算法
+     *
+     * @param node              节点
+     * @param key               键
+     * @param remappingFunction 计算函数
+     * @return 节点
+     */
+    private Node compute(Node node, K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (node == null) {
+            V value = remappingFunction.apply(key, null);
+            computedValue = value;
+            if (value == null) {
+                return null;
+            }
+            size++;
+            return new Node(key, value);
+        }
+
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            node.left = compute(node.left, key, remappingFunction);
+        } else if (cmp > 0) {
+            node.right = compute(node.right, key, remappingFunction);
+        } else {
+            V value = remappingFunction.apply(key, node.value);
+            computedValue = value;
+            if (value != null) {
+                node.value = value;
+            } else {
+                // 新值为null，在当前子树中删除该节点
+                return remove(node, key);
+            }
+        }
+
+        return node;
+    }
+
     /**
      * 删除键为key的节点
      *
@@ -141,7 +201,6 @@ public class BSTMap<K extends Comparable<K>, V> implements Map<K, V> {
             successor.right = removeMin(node.right);
             successor.left = node.left;
             node.left = node.right = null;
-            size--;
 
             return successor;
         }
@@ -202,6 +261,19 @@ public class BSTMap<K extends Comparable<K>, V> implements Map<K, V> {
         return node == null ? null : node.value;
     }
 
+    /**
+     * 根据键获取值，键不存在时返回defaultValue
+     *
+     * @param key          键
+     * @param defaultValue 默认值
+     * @return 值
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        Node node = getNode(root, key);
+        return node == null ? defaultValue : node.value;
+    }
+
     /**
      * 根据键key设置值newValue
      *
@@ -1,7 +1,11 @@
 package com.itnear.structure.map;
 
+import com.itnear.structure.linkedlist.NodePool;
+
+import java.util.function.BiFunction;
+
 /**
- * 描述：链式映射
+ * 描述：链式映射，可选节点池回收被删除的节点
  * 作者：NearJC
  * 时间：2020/02/06
  */
@@ -52,9 +56,37 @@ public class LinkedListMap<K, V> implements Map<K, V> {
      */
     private int size;
 
-    public LinkedListMap() {
-        this.dummyHead = null;
+    /**
+     * 节点池，为null时不回收节点
+     */
+    private final NodePool<Node> pool;
+
+    /**
+     * 新分配的节点个数（不含头节点）
+     */
+    private long allocationCount;
+
+    /**
+     * 映射本身不是线程安全的，多个线程由外部同步交替使用时，可以开启节点池的线程本地缓存
+     *
+     * @param poolCapacity  节点池容量
+     * @param localCapacity 节点池中每个线程的本地缓存容量，0表示不使用线程本地缓存；与poolCapacity都为0时不使用节点池
+     */
+    public LinkedListMap(int poolCapacity, int localCapacity) {
+        this.dummyHead = new Node();
         this.size = 0;
+        this.pool = poolCapacity > 0 || localCapacity > 0 ? new NodePool<>(poolCapacity, localCapacity) : null;
+    }
+
+    /**
+     * @param poolCapacity 节点池容量，0表示不使用节点池
+     */
+    public LinkedListMap(int poolCapacity) {
+        this(poolCapacity, 0);
+    }
+
+    public LinkedListMap() {
+        this(0);
     }
 
     /**
@@ -67,7 +99,7 @@ public class LinkedListMap<K, V> implements Map<K, V> {
     public void add(K key, V value) {
         Node node = getNode(key);
         if (node == null) {
-            dummyHead.next = new Node(key, value, dummyHead.next);
+            dummyHead.next = newNode(key, value, dummyHead.next);
             size++;
         } else {
             node.value = value;
@@ -93,14 +125,49 @@ public class LinkedListMap<K, V> implements Map<K, V> {
         if (prev.next != null) {
             Node retNode = prev.next;
             prev.next = retNode.next;
-            retNode.next = null;
             size--;
-            return retNode.value;
+            V ret = retNode.value;
+            release(retNode);
+            return ret;
         }
 
         return null;
     }
 
+    /**
+     * 用remappingFunction根据键key和旧值（不存在时为null）计算新值，新值为null时删除该键，只需遍历一次链表
+     *
+     * @param key               键
+     * @param remappingFunction 计算函数
+     * @return 新值
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Node prev = dummyHead;
+        while (prev.next != null) {
+            if (prev.next.key.equals(key)) {
+                break;
+            }
+            prev = prev.next;
+        }
+
+        Node node = prev.next;
+        V newValue = remappingFunction.apply(key, node == null ? null : node.value);
+        if (node == null) {
+            if (newValue != null) {
+                dummyHead.next = newNode(key, newValue, dummyHead.next);
+                size++;
+            }
+        } else if (newValue != null) {
+            node.value = newValue;
+        } else {
+            prev.next = node.next;
+            size--;
+            release(node);
+        }
+        return newValue;
+    }
+
     /**
      * 判断元素是否包含键Key
      *
@@ -124,6 +191,19 @@ public class LinkedListMap<K, V> implements Map<K, V> {
         return node == null ? null : node.value;
     }
 
+    /**
+     * 根据键获取值，键不存在时返回defaultValue
+     *
+     * @param key          键
+     * @param defaultValue 默认值
+     * @return 值
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        Node node = getNode(key);
+        return node == null ? defaultValue : node.value;
+    }
+
     /**
      * 根据键key设置新值newValue
      *
@@ -159,6 +239,49 @@ public class LinkedListMap<K, V> implements Map<K, V> {
         return size == 0;
     }
 
+    /**
+     * 获取新分配的节点个数，使用节点池时稳定负载下不再增长
+     *
+     * @return 分配次数
+     */
+    public long getAllocationCount() {
+        return allocationCount;
+    }
+
+    /**
+     * 创建节点，优先从节点池中取
+     *
+     * @param key   键
+     * @param value 值
+     * @param next  下一个节点
+     * @return 节点
+     */
+    private Node newNode(K key, V value, Node next) {
+        Node node = pool == null ? null : pool.poll();
+        if (node == null) {
+            allocationCount++;
+            return new Node(key, value, next);
+        }
+        node.key = key;
+        node.value = value;
+        node.next = next;
+        return node;
+    }
+
+    /**
+     * 清空被删除节点的引用，节点池未满时回收
+     *
+     * @param node 节点
+     */
+    private void release(Node node) {
+        node.key = null;
+        node.value = null;
+        node.next = null;
+        if (pool != null) {
+            pool.offer(node);
+        }
+    }
+
     /**
      * 根据键key获取节点
      *
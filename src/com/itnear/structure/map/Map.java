@@ -1,5 +1,8 @@
 package com.itnear.structure.map;
 
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 /**
  * 描述：映射接口
  * 作者：NearJC
@@ -20,4 +23,57 @@ public interface Map<K, V> {
     int getSize();
 
     boolean isEmpty();
+
+    /**
+     * 根据键key获取值，键不存在时返回defaultValue
+     *
+     * @param key          键
+     * @param defaultValue 默认值
+     * @return 值
+     */
+    default V getOrDefault(K key, V defaultValue) {
+        return contains(key) ? get(key) : defaultValue;
+    }
+
+    /**
+     * 用remappingFunction根据键key和旧值（不存在时为null）计算新值，新值为null时删除该键
+     * 默认实现需要多次查找，各实现类应当覆盖为一次查找
+     *
+     * @param key               键
+     * @param remappingFunction 计算函数
+     * @return 新值
+     */
+    default V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V oldValue = get(key);
+        V newValue = remappingFunction.apply(key, oldValue);
+        if (newValue != null) {
+            add(key, newValue);
+        } else if (oldValue != null || contains(key)) {
+            remove(key);
+        }
+        return newValue;
+    }
+
+    /**
+     * 键key不存在（或值为null）时用mappingFunction计算值并添加，计算结果为null时不添加
+     *
+     * @param key             键
+     * @param mappingFunction 计算函数
+     * @return 当前值
+     */
+    default V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return compute(key, (k, oldValue) -> oldValue != null ? oldValue : mappingFunction.apply(k));
+    }
+
+    /**
+     * 键key不存在时添加value，否则用remappingFunction合并旧值与value，合并结果为null时删除该键
+     *
+     * @param key               键
+     * @param value             值
+     * @param remappingFunction 合并函数
+     * @return 新值
+     */
+    default V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return compute(key, (k, oldValue) -> oldValue == null ? value : remappingFunction.apply(oldValue, value));
+    }
 }
@@ -1,49 +1,35 @@
 package com.itnear.structure.queue;
 
+import com.itnear.structure.linkedlist.LinkedList;
+import com.itnear.structure.linkedlist.List;
+import com.itnear.util.MemoryStats;
+
 /**
- * 描述：链式队列
+ * 描述：链式队列，队尾入队、队头出队。节点回收由数据容器负责，例如带节点池的LinkedList
  * 作者：NearJC
  * 时间：2020/02/05
  */
 public class LinkedListQueue<E> implements Queue<E> {
 
-    private class Node {
-        public E e;
-        public Node next;
-
-        public Node(E e, Node next) {
-            this.e = e;
-            this.next = next;
-        }
-
-        public Node(E e) {
-            this(e, null);
-        }
-
-        public Node() {
-            this(null, null);
-        }
-
-        @Override
-        public String toString() {
-            return e.toString();
-        }
-    }
-
     /**
-     * 队头、队尾
+     * 数据容器
      */
-    private Node head, tail;
+    private List<E> list;
+
+    public LinkedListQueue() {
+        this(new LinkedList<>());
+    }
 
     /**
-     * 元素个数
+     * 使用指定的线性表作为数据容器，例如UnrolledLinkedList或带节点池的LinkedList
+     *
+     * @param list 空的线性表
      */
-    private int size;
-
-    public LinkedListQueue() {
-        this.head = null;
-        this.tail = null;
-        this.size = 0;
+    public LinkedListQueue(List<E> list) {
+        if (!list.isEmpty()) {
+            throw new IllegalArgumentException("数据容器必须为空");
+        }
+        this.list = list;
     }
 
     /**
@@ -53,7 +39,7 @@ public class LinkedListQueue<E> implements Queue<E> {
      */
     @Override
     public int getSize() {
-        return size;
+        return list.getSize();
     }
 
     /**
@@ -63,7 +49,7 @@ public class LinkedListQueue<E> implements Queue<E> {
      */
     @Override
     public boolean isEmpty() {
-        return size == 0;
+        return list.isEmpty();
     }
 
     /**
@@ -73,14 +59,7 @@ public class LinkedListQueue<E> implements Queue<E> {
      */
     @Override
     public void enqueue(E e) {
-        if (tail == null) {
-            tail = new Node(e);
-            head = tail;
-        } else {
-            tail.next = new Node(e);
-            tail = tail.next;
-        }
-        size++;
+        list.addLast(e);
     }
 
     /**
@@ -93,16 +72,7 @@ public class LinkedListQueue<E> implements Queue<E> {
         if (isEmpty()) {
             throw new IllegalArgumentException("出队失败，队列为空");
         }
-
-        Node retNode = head;
-        head = head.next;
-        retNode.next = null;
-        if (head == null) {
-            tail = null;
-        }
-        size--;
-
-        return retNode.e;
+        return list.removeFirst();
     }
 
     /**
@@ -115,19 +85,15 @@ public class LinkedListQueue<E> implements Queue<E> {
         if (isEmpty()) {
             throw new IllegalArgumentException("出队失败，队列为空");
         }
-
-        return head.e;
+        return list.getFirst();
     }
 
     @Override
     public String toString() {
         StringBuilder res = new StringBuilder();
         res.append(String.format("Queue: 队列元素个数：%d Front ", getSize()));
-
-        Node cur = head;
-        while (cur != null) {
-            res.append(cur).append(" ->");
-            cur = cur.next;
+        for (int i = 0; i < list.getSize(); i++) {
+            res.append(list.get(i)).append(" ->");
         }
         res.append("NULL Tail");
 
@@ -147,6 +113,30 @@ public class LinkedListQueue<E> implements Queue<E> {
                 System.out.println(queue);
             }
         }
-    }
 
+        // 稳定负载：队列长度在backlog附近波动，比较数据容器有无节点池时的分配次数与GC
+        int backlog = 10000, n = 50000000;
+        for (int round = 0; round < 2; round++) {
+            for (int poolCapacity : new int[]{0, backlog * 2}) {
+                LinkedList<Integer> list = new LinkedList<>(false, poolCapacity);
+                LinkedListQueue<Integer> q = new LinkedListQueue<>(list);
+                Integer e = 1;
+                for (int i = 0; i < backlog; i++) {
+                    q.enqueue(e);
+                }
+                long allocations = list.getAllocationCount();
+                long[] gc = MemoryStats.gcStats();
+                long startTime = System.nanoTime();
+                for (int i = 0; i < n; i++) {
+                    q.enqueue(e);
+                    q.dequeue();
+                }
+                double time = (System.nanoTime() - startTime) / 1000000000.0;
+                long[] gcAfter = MemoryStats.gcStats();
+                System.out.println(String.format("%-9s : %d enqueue/dequeue in %.3f s, allocations %d, GC %d times %d ms",
+                        poolCapacity == 0 ? "no pool" : "node pool", n, time, list.getAllocationCount() - allocations,
+                        gcAfter[0] - gc[0], gcAfter[1] - gc[1]));
+            }
+        }
+    }
 }
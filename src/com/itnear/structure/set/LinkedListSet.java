@@ -1,6 +1,7 @@
 package com.itnear.structure.set;
 
 import com.itnear.structure.linkedlist.LinkedList;
+import com.itnear.structure.linkedlist.List;
 
 /**
  * 描述：链表集合
@@ -9,10 +10,22 @@ import com.itnear.structure.linkedlist.LinkedList;
  */
 public class LinkedListSet<E> implements Set<E> {
 
-    private LinkedList<E> data;
+    private List<E> data;
 
     public LinkedListSet() {
-        this.data = new LinkedList<>();
+        this(new LinkedList<>());
+    }
+
+    /**
+     * 使用指定的线性表作为数据容器，例如UnrolledLinkedList
+     *
+     * @param data 空的线性表
+     */
+    public LinkedListSet(List<E> data) {
+        if (!data.isEmpty()) {
+            throw new IllegalArgumentException("数据容器必须为空");
+        }
+        this.data = data;
     }
 
     /**
@@ -0,0 +1,200 @@
+package com.itnear.structure.stack;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicStampedReference;
+
+/**
+ * 描述：消除回退栈。在Treiber栈的基础上，入栈出栈先对栈顶做一次CAS，失败说明栈顶有竞争，
+ * 此时不在栈顶上重试，而是到消除数组的随机槽位上等待一个相反的操作：入栈与出栈在槽位上
+ * 交换元素后各自完成，相当于入栈后立刻被出栈，整个过程不触碰栈顶。
+ * 竞争越激烈越容易配对成功，对称的入栈出栈负载下吞吐量随线程数增长
+ * 作者：NearJC
+ * 时间：2020/02/23
+ */
+public class EliminationBackoffStack<E> extends TreiberStack<E> {
+
+    /**
+     * 交换超时
+     */
+    private static final Object TIMEOUT = new Object();
+
+    /**
+     * 槽位状态：空闲、有一个线程在等待、已配对
+     */
+    private static final int EMPTY = 0, WAITING = 1, BUSY = 2;
+
+    /**
+     * 无锁交换器：两个线程通过一个带状态的槽位交换各自的元素，出栈方的元素为null
+     */
+    private static class Exchanger {
+
+        private final AtomicStampedReference<Object> slot = new AtomicStampedReference<>(null, EMPTY);
+
+        /**
+         * 与另一个线程交换元素
+         *
+         * @param myItem       本线程的元素
+         * @param timeoutNanos 超时（纳秒）
+         * @return 对方的元素，超时返回TIMEOUT
+         */
+        Object exchange(Object myItem, long timeoutNanos) {
+            long timeBound = System.nanoTime() + timeoutNanos;
+            int[] stampHolder = new int[1];
+            while (System.nanoTime() < timeBound) {
+                Object yrItem = slot.get(stampHolder);
+                switch (stampHolder[0]) {
+                    case EMPTY:
+                        // 放入自己的元素，等待对方配对
+                        if (slot.compareAndSet(yrItem, myItem, EMPTY, WAITING)) {
+                            while (System.nanoTime() < timeBound) {
+                                yrItem = slot.get(stampHolder);
+                                if (stampHolder[0] == BUSY) {
+                                    slot.set(null, EMPTY);
+                                    return yrItem;
+                                }
+                            }
+                            // 超时后撤回，撤回失败说明对方恰好在此时配对
+                            if (slot.compareAndSet(myItem, null, WAITING, EMPTY)) {
+                                return TIMEOUT;
+                            }
+                            yrItem = slot.get(stampHolder);
+                            slot.set(null, EMPTY);
+                            return yrItem;
+                        }
+                        break;
+                    case WAITING:
+                        // 与等待中的线程配对
+                        if (slot.compareAndSet(yrItem, myItem, WAITING, BUSY)) {
+                            return yrItem;
+                        }
+                        break;
+                    default:
+                        // 槽位上的两个线程正在完成交换
+                        break;
+                }
+            }
+            return TIMEOUT;
+        }
+    }
+
+    /**
+     * 消除数组
+     */
+    private final Exchanger[] exchangers;
+
+    /**
+     * 在消除数组上等待配对的超时（纳秒）
+     */
+    private final long timeoutNanos;
+
+    /**
+     * @param capacity     消除数组大小，一般取并发线程数的一半左右
+     * @param timeoutNanos 在消除数组上等待配对的超时（纳秒）
+     */
+    public EliminationBackoffStack(int capacity, long timeoutNanos) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("消除数组大小必须大于0");
+        }
+        this.exchangers = new Exchanger[capacity];
+        for (int i = 0; i < capacity; i++) {
+            exchangers[i] = new Exchanger();
+        }
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    public EliminationBackoffStack() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 10000);
+    }
+
+    /**
+     * 元素入栈，栈顶CAS失败时到消除数组上等待出栈操作
+     *
+     * @param e 元素
+     */
+    @Override
+    public void push(E e) {
+        if (e == null) {
+            throw new IllegalArgumentException("元素不能为null");
+        }
+
+        Node<E> node = new Node<>(e);
+        while (true) {
+            Node<E> oldTop = top();
+            node.next = oldTop;
+            if (casTop(oldTop, node)) {
+                return;
+            }
+
+            // 换到的是null说明与出栈配对成功，换到其它入栈的元素或超时则回到栈顶重试
+            if (visit(e) == null) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 批量入栈，整体挂到栈顶，不经过消除数组
+     *
+     * @param es 元素
+     */
+    @Override
+    public void pushAll(E[] es) {
+        for (E e : es) {
+            if (e == null) {
+                throw new IllegalArgumentException("元素不能为null");
+            }
+        }
+        super.pushAll(es);
+    }
+
+    /**
+     * 元素出栈
+     *
+     * @return 元素
+     */
+    @Override
+    public E pop() {
+        E e = poll();
+        if (e == null) {
+            throw new IllegalArgumentException("出栈失败，栈为空");
+        }
+        return e;
+    }
+
+    /**
+     * 元素出栈，栈顶CAS失败时到消除数组上等待入栈操作
+     *
+     * @return 元素，栈为空返回null
+     */
+    @Override
+    public E poll() {
+        while (true) {
+            Node<E> oldTop = top();
+            if (oldTop == null) {
+                return null;
+            }
+            if (casTop(oldTop, oldTop.next)) {
+                return oldTop.e;
+            }
+
+            // 只有入栈方会交换出非null的元素，类型一定是E
+            Object other = visit(null);
+            if (other != null && other != TIMEOUT) {
+                @SuppressWarnings("unchecked")
+                E e = (E) other;
+                return e;
+            }
+        }
+    }
+
+    /**
+     * 在消除数组的随机槽位上交换元素
+     *
+     * @param item 入栈的元素，出栈时为null
+     * @return 对方的元素，超时返回TIMEOUT
+     */
+    private Object visit(Object item) {
+        int index = ThreadLocalRandom.current().nextInt(exchangers.length);
+        return exchangers[index].exchange(item, timeoutNanos);
+    }
+}
@@ -0,0 +1,197 @@
+package com.itnear.structure.stack;
+
+import com.itnear.util.MemoryStats;
+
+import java.util.Arrays;
+
+/**
+ * 描述：顺序栈 - int特化版本，元素直接存放在int[]中，入栈出栈不装箱。
+ * 出栈不缩容，clear()保留容量，容量稳定后入栈出栈不再分配内存
+ * 作者：NearJC
+ * 时间：2020/02/24
+ */
+public class IntStack {
+
+    /**
+     * 存储元素，栈底在索引0
+     */
+    private int[] data;
+
+    /**
+     * 元素个数
+     */
+    private int size;
+
+    public IntStack(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("容量不能小于0");
+        }
+        this.data = new int[capacity];
+        this.size = 0;
+    }
+
+    public IntStack() {
+        this(10);
+    }
+
+    /**
+     * 获取栈元素个数
+     *
+     * @return 元素个数
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 获取栈存储容量
+     *
+     * @return 容量
+     */
+    public int getCapacity() {
+        return data.length;
+    }
+
+    /**
+     * 判断栈是否为空
+     *
+     * @return 为空时返回true，否则返回false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 元素入栈
+     *
+     * @param e 元素
+     */
+    public void push(int e) {
+        if (size == data.length) {
+            resize(Math.max(1, data.length * 2));
+        }
+        data[size++] = e;
+    }
+
+    /**
+     * 批量入栈，arr[arr.length - 1]位于栈顶
+     *
+     * @param arr 元素
+     */
+    public void pushAll(int[] arr) {
+        if (size + arr.length > data.length) {
+            resize(Math.max(size + arr.length, data.length * 2));
+        }
+        System.arraycopy(arr, 0, data, size, arr.length);
+        size += arr.length;
+    }
+
+    /**
+     * 元素出栈
+     *
+     * @return 元素
+     */
+    public int pop() {
+        if (size == 0) {
+            throw new IllegalArgumentException("出栈失败，栈为空");
+        }
+        return data[--size];
+    }
+
+    /**
+     * 查看栈顶元素
+     *
+     * @return 元素
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalArgumentException("查看失败，栈为空");
+        }
+        return data[size - 1];
+    }
+
+    /**
+     * 清空栈，保留容量
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * 扩容
+     *
+     * @param newCapacity 新容量
+     */
+    private void resize(int newCapacity) {
+        data = Arrays.copyOf(data, newCapacity);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+
+        res.append(String.format(">>IntStack：栈元素个数：%d，栈容量：%d \n[", size, data.length));
+        for (int i = 0; i < size; i++) {
+            res.append(data[i]).append(",");
+        }
+
+        return res.replace(res.length() - 1, res.length(), "] Top").toString();
+    }
+
+    public static void main(String[] args) {
+        IntStack intStack = new IntStack();
+        intStack.push(1);
+        intStack.pushAll(new int[]{2, 3, 4});
+        System.out.println(intStack);
+        System.out.println("pop : " + intStack.pop() + ", peek : " + intStack.peek());
+
+        // 对隐式的完全二叉树做迭代深度优先遍历，顶点编号超出Integer缓存范围，ArrayStack每次入栈都要装箱
+        int n = 1 << 22;
+        for (int round = 0; round < 3; round++) {
+            long[] gc = MemoryStats.gcStats();
+            long startTime = System.nanoTime();
+            ArrayStack<Integer> stack = new ArrayStack<>();
+            long sum = 0;
+            for (int r = 0; r < 10; r++) {
+                stack.push(0);
+                while (!stack.isEmpty()) {
+                    int v = stack.pop();
+                    sum += v;
+                    if (2 * v + 2 < n) {
+                        stack.push(2 * v + 2);
+                    }
+                    if (2 * v + 1 < n) {
+                        stack.push(2 * v + 1);
+                    }
+                }
+            }
+            double time = (System.nanoTime() - startTime) / 1000000000.0;
+            long[] gcAfter = MemoryStats.gcStats();
+            System.out.println(String.format("ArrayStack<Integer> : %.3f s, GC %d times %d ms, sum %d",
+                    time, gcAfter[0] - gc[0], gcAfter[1] - gc[1], sum));
+
+            gc = MemoryStats.gcStats();
+            startTime = System.nanoTime();
+            IntStack ints = new IntStack();
+            sum = 0;
+            for (int r = 0; r < 10; r++) {
+                ints.clear();
+                ints.push(0);
+                while (!ints.isEmpty()) {
+                    int v = ints.pop();
+                    sum += v;
+                    if (2 * v + 2 < n) {
+                        ints.push(2 * v + 2);
+                    }
+                    if (2 * v + 1 < n) {
+                        ints.push(2 * v + 1);
+                    }
+                }
+            }
+            time = (System.nanoTime() - startTime) / 1000000000.0;
+            gcAfter = MemoryStats.gcStats();
+            System.out.println(String.format("IntStack            : %.3f s, GC %d times %d ms, sum %d",
+                    time, gcAfter[0] - gc[0], gcAfter[1] - gc[1], sum));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.itnear.structure.stack;
 
 import com.itnear.structure.linkedlist.LinkedList;
+import com.itnear.structure.linkedlist.List;
 
 /**
  * 描述：链式栈
@@ -12,10 +13,22 @@ public class LinkedListStack<E> implements Stack<E> {
     /**
      * 数据容器
      */
-    private LinkedList<E> list;
+    private List<E> list;
 
     public LinkedListStack() {
-        this.list = new LinkedList<>();
+        this(new LinkedList<>(true));
+    }
+
+    /**
+     * 使用指定的线性表作为数据容器，例如UnrolledLinkedList
+     *
+     * @param list 空的线性表
+     */
+    public LinkedListStack(List<E> list) {
+        if (!list.isEmpty()) {
+            throw new IllegalArgumentException("数据容器必须为空");
+        }
+        this.list = list;
     }
 
     /**
@@ -0,0 +1,146 @@
+package com.itnear.structure.stack;
+
+import java.util.Arrays;
+
+/**
+ * 描述：顺序栈 - long特化版本，元素直接存放在long[]中，入栈出栈不装箱。
+ * 出栈不缩容，clear()保留容量，容量稳定后入栈出栈不再分配内存
+ * 作者：NearJC
+ * 时间：2020/02/24
+ */
+public class LongStack {
+
+    /**
+     * 存储元素，栈底在索引0
+     */
+    private long[] data;
+
+    /**
+     * 元素个数
+     */
+    private int size;
+
+    public LongStack(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("容量不能小于0");
+        }
+        this.data = new long[capacity];
+        this.size = 0;
+    }
+
+    public LongStack() {
+        this(10);
+    }
+
+    /**
+     * 获取栈元素个数
+     *
+     * @return 元素个数
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 获取栈存储容量
+     *
+     * @return 容量
+     */
+    public int getCapacity() {
+        return data.length;
+    }
+
+    /**
+     * 判断栈是否为空
+     *
+     * @return 为空时返回true，否则返回false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 元素入栈
+     *
+     * @param e 元素
+     */
+    public void push(long e) {
+        if (size == data.length) {
+            resize(Math.max(1, data.length * 2));
+        }
+        data[size++] = e;
+    }
+
+    /**
+     * 批量入栈，arr[arr.length - 1]位于栈顶
+     *
+     * @param arr 元素
+     */
+    public void pushAll(long[] arr) {
+        if (size + arr.length > data.length) {
+            resize(Math.max(size + arr.length, data.length * 2));
+        }
+        System.arraycopy(arr, 0, data, size, arr.length);
+        size += arr.length;
+    }
+
+    /**
+     * 元素出栈
+     *
+     * @return 元素
+     */
+    public long pop() {
+        if (size == 0) {
+            throw new IllegalArgumentException("出栈失败，栈为空");
+        }
+        return data[--size];
+    }
+
+    /**
+     * 查看栈顶元素
+     *
+     * @return 元素
+     */
+    public long peek() {
+        if (size == 0) {
+            throw new IllegalArgumentException("查看失败，栈为空");
+        }
+        return data[size - 1];
+    }
+
+    /**
+     * 清空栈，保留容量
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * 扩容
+     *
+     * @param newCapacity 新容量
+     */
+    private void resize(int newCapacity) {
+        data = Arrays.copyOf(data, newCapacity);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+
+        res.append(String.format(">>LongStack：栈元素个数：%d，栈容量：%d \n[", size, data.length));
+        for (int i = 0; i < size; i++) {
+            res.append(data[i]).append(",");
+        }
+
+        return res.replace(res.length() - 1, res.length(), "] Top").toString();
+    }
+
+    public static void main(String[] args) {
+        LongStack longStack = new LongStack();
+        longStack.push(1L << 40);
+        longStack.pushAll(new long[]{2, 3, 4});
+        System.out.println(longStack);
+        System.out.println("pop : " + longStack.pop() + ", peek : " + longStack.peek());
+    }
+}
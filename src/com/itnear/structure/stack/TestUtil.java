@@ -0,0 +1,177 @@
+package com.itnear.structure.stack;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 测试类
+ */
+public class TestUtil {
+
+    /**
+     * 多线程对称压力测试：每个线程交替入栈、出栈，结束后校验出栈元素之和与入栈元素之和相等
+     *
+     * @param stack   栈
+     * @param threads 线程数
+     * @param m       每个线程的入栈次数
+     * @return 吞吐量（百万次操作/秒）
+     */
+    private static double testThroughput(Stack<Integer> stack, int threads, int m) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        long[] popped = new long[threads];
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers[t] = new Thread(() -> {
+                long sum = 0;
+                // 每个线程先入栈后出栈，入栈次数始终不少于出栈次数，出栈时栈不会为空
+                for (int i = 0; i < m; i++) {
+                    stack.push(i & 1023);
+                    sum += stack.pop();
+                }
+                popped[id] = sum;
+            });
+        }
+
+        long startTime = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long endTime = System.nanoTime();
+
+        long expected = 0, actual = 0;
+        for (int i = 0; i < m; i++) {
+            expected += i & 1023;
+        }
+        expected *= threads;
+        for (long sum : popped) {
+            actual += sum;
+        }
+        if (actual != expected || !stack.isEmpty()) {
+            throw new IllegalStateException("出栈元素之和错误：" + actual + "，期望：" + expected);
+        }
+
+        return 2.0 * threads * m / ((endTime - startTime) / 1000.0);
+    }
+
+    /**
+     * 消除路径测试：栈顶CAS按一半的概率失败，迫使入栈出栈进入消除数组配对。
+     * 每个线程交替入栈、出栈各不相同的元素，结束后校验每个入栈的元素恰好出栈一次
+     *
+     * @param threads      线程数
+     * @param m            每个线程的入栈次数
+     * @param timeoutNanos 在消除数组上等待配对的超时（纳秒）
+     * @return 通过消除数组完成的入栈次数
+     */
+    private static long testElimination(int threads, int m, long timeoutNanos) throws InterruptedException {
+        AtomicLong pushedOnTop = new AtomicLong();
+        EliminationBackoffStack<Integer> stack = new EliminationBackoffStack<Integer>(1, timeoutNanos) {
+            @Override
+            boolean casTop(Node<Integer> expect, Node<Integer> update) {
+                if (ThreadLocalRandom.current().nextBoolean() || !super.casTop(expect, update)) {
+                    return false;
+                }
+                // 入栈时新栈顶指向旧栈顶，出栈时新栈顶是旧栈顶的下一个节点
+                if (update != null && update.next == expect) {
+                    pushedOnTop.incrementAndGet();
+                }
+                return true;
+            }
+        };
+
+        Thread[] workers = new Thread[threads];
+        int[][] popped = new int[threads][m];
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < m; i++) {
+                    stack.push(id * m + i);
+                    popped[id][i] = stack.pop();
+                }
+            });
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        if (!stack.isEmpty()) {
+            throw new IllegalStateException("测试结束后栈不为空：" + stack.getSize());
+        }
+        boolean[] seen = new boolean[threads * m];
+        for (int[] values : popped) {
+            for (int value : values) {
+                if (seen[value]) {
+                    throw new IllegalStateException("元素出栈了两次：" + value);
+                }
+                seen[value] = true;
+            }
+        }
+
+        long eliminated = (long) threads * m - pushedOnTop.get();
+        if (eliminated <= 0) {
+            throw new IllegalStateException("没有任何入栈通过消除数组完成");
+        }
+        return eliminated;
+    }
+
+    /**
+     * 整体加锁的顺序栈，作为并发测试的对照
+     */
+    private static class SynchronizedArrayStack<E> implements Stack<E> {
+
+        private final ArrayStack<E> stack = new ArrayStack<>();
+
+        @Override
+        public synchronized int getSize() {
+            return stack.getSize();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return stack.isEmpty();
+        }
+
+        @Override
+        public synchronized void push(E e) {
+            stack.push(e);
+        }
+
+        @Override
+        public synchronized E pop() {
+            return stack.pop();
+        }
+
+        @Override
+        public synchronized E peek() {
+            return stack.peek();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = 20000;
+        System.out.println(String.format("elimination : %d of %d pushes eliminated",
+                testElimination(4, n, 20000), 4 * n));
+
+        int m = 10000000;
+        int maxThreads = Math.max(64, Runtime.getRuntime().availableProcessors());
+
+        // 预热
+        testThroughput(new SynchronizedArrayStack<>(), 2, m / 10);
+        testThroughput(new TreiberStack<>(), 2, m / 10);
+        testThroughput(new EliminationBackoffStack<>(), 2, m / 10);
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            int perThread = Math.max(m / threads, 10000);
+            double sync = testThroughput(new SynchronizedArrayStack<>(), threads, perThread);
+            double treiber = testThroughput(new TreiberStack<>(), threads, perThread);
+            double elimination = testThroughput(new EliminationBackoffStack<>(), threads, perThread);
+            System.out.println(String.format("%2d threads : SynchronizedArrayStack %.2f Mops/s, TreiberStack %.2f Mops/s, "
+                    + "EliminationBackoffStack %.2f Mops/s", threads, sync, treiber, elimination));
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.itnear.structure.stack;
+
+import com.itnear.structure.array.Array;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 描述：无锁栈（Treiber栈），入栈出栈都只对栈顶做一次CAS，失败重试。
+ * 每次入栈都新建节点、出栈的节点不再复用，栈顶CAS比较的引用不会"被删后又以同一个节点放回"，
+ * 因此没有ABA问题，节点回收交给GC
+ * 作者：NearJC
+ * 时间：2020/02/23
+ */
+public class TreiberStack<E> implements Stack<E> {
+
+    /**
+     * 栈节点结构，发布到栈顶后不再修改
+     */
+    static class Node<E> {
+        final E e;
+        Node<E> next;
+
+        Node(E e) {
+            this.e = e;
+        }
+    }
+
+    /**
+     * 栈顶
+     */
+    private final AtomicReference<Node<E>> top;
+
+    public TreiberStack() {
+        this.top = new AtomicReference<>();
+    }
+
+    /**
+     * 读取栈顶，供子类在栈顶CAS失败时加入自己的回退策略
+     *
+     * @return 栈顶节点，栈为空返回null
+     */
+    Node<E> top() {
+        return top.get();
+    }
+
+    /**
+     * 对栈顶做一次CAS
+     *
+     * @param expect 期望的栈顶
+     * @param update 新栈顶
+     * @return 成功返回true
+     */
+    boolean casTop(Node<E> expect, Node<E> update) {
+        return top.compareAndSet(expect, update);
+    }
+
+    /**
+     * 获取栈元素个数，需要遍历整个栈，并发修改时为近似值
+     *
+     * @return 元素个数
+     */
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (Node<E> cur = top.get(); cur != null; cur = cur.next) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * 判断栈是否为空
+     *
+     * @return 为空时返回true，否则返回false
+     */
+    @Override
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    /**
+     * 元素入栈
+     *
+     * @param e 元素
+     */
+    @Override
+    public void push(E e) {
+        Node<E> node = new Node<>(e);
+        Node<E> oldTop;
+        do {
+            oldTop = top.get();
+            node.next = oldTop;
+        } while (!top.compareAndSet(oldTop, node));
+    }
+
+    /**
+     * 批量入栈：先在本地串好节点，再用一次CAS整体挂到栈顶，这些元素在栈中保持连续，
+     * es[es.length - 1]位于栈顶
+     *
+     * @param es 元素
+     */
+    public void pushAll(E[] es) {
+        if (es.length == 0) {
+            return;
+        }
+
+        Node<E> last = new Node<>(es[0]);
+        Node<E> first = last;
+        for (int i = 1; i < es.length; i++) {
+            Node<E> node = new Node<>(es[i]);
+            node.next = first;
+            first = node;
+        }
+
+        Node<E> oldTop;
+        do {
+            oldTop = top.get();
+            last.next = oldTop;
+        } while (!top.compareAndSet(oldTop, first));
+    }
+
+    /**
+     * 元素出栈
+     *
+     * @return 元素
+     */
+    @Override
+    public E pop() {
+        Node<E> oldTop;
+        do {
+            oldTop = top.get();
+            if (oldTop == null) {
+                throw new IllegalArgumentException("出栈失败，栈为空");
+            }
+        } while (!top.compareAndSet(oldTop, oldTop.next));
+        return oldTop.e;
+    }
+
+    /**
+     * 元素出栈，栈为空时返回null而不是抛出异常，适合多个线程竞争同一个栈
+     *
+     * @return 元素，栈为空返回null
+     */
+    public E poll() {
+        Node<E> oldTop;
+        do {
+            oldTop = top.get();
+            if (oldTop == null) {
+                return null;
+            }
+        } while (!top.compareAndSet(oldTop, oldTop.next));
+        return oldTop.e;
+    }
+
+    /**
+     * 批量出栈：一次CAS摘下栈顶最多n个元素
+     *
+     * @param n 最多出栈的元素个数
+     * @return 出栈的元素，按出栈顺序排列，栈为空时为空数组
+     */
+    public Array<E> popBatch(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("出栈个数不能为负数");
+        }
+
+        Node<E> oldTop, newTop;
+        int count;
+        do {
+            oldTop = top.get();
+            newTop = oldTop;
+            count = 0;
+            while (newTop != null && count < n) {
+                newTop = newTop.next;
+                count++;
+            }
+        } while (count > 0 && !top.compareAndSet(oldTop, newTop));
+
+        Array<E> res = new Array<>(Math.max(count, 1));
+        for (Node<E> cur = oldTop; count > 0; cur = cur.next, count--) {
+            res.addLast(cur.e);
+        }
+        return res;
+    }
+
+    /**
+     * 查看栈顶元素
+     *
+     * @return 元素
+     */
+    @Override
+    public E peek() {
+        Node<E> node = top.get();
+        if (node == null) {
+            throw new IllegalArgumentException("查看失败，栈为空");
+        }
+        return node.e;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+
+        res.append(getClass().getSimpleName()).append("：Top [");
+        for (Node<E> cur = top.get(); cur != null; cur = cur.next) {
+            res.append(cur.e).append(",");
+        }
+        if (res.charAt(res.length() - 1) == ',') {
+            res.setLength(res.length() - 1);
+        }
+
+        return res.append("]").toString();
+    }
+
+    public static void main(String[] args) {
+        TreiberStack<String> stack = new TreiberStack<>();
+
+        stack.push("monkey");
+        stack.pushAll(new String[]{"key", "tell", "geek"});
+        stack.push("right");
+        System.out.println(stack);
+
+        System.out.println("pop : " + stack.pop());
+        System.out.println("popBatch(3) : " + stack.popBatch(3));
+        System.out.println(stack);
+    }
+}
@@ -1,15 +1,17 @@
 package com.itnear.structure.tree.avl;
 
+import com.itnear.structure.map.Map;
 import com.itnear.util.FileOperation;
 
 import java.util.ArrayList;
+import java.util.function.BiFunction;
 
 /**
  * 描述：AVL树 - 自平衡二叉树
  * 作者：NearJC
  * 时间：2020/02/08
  */
-public class AVLTree<K extends Comparable<K>, V> {
+public class AVLTree<K extends Comparable<K>, V> implements Map<K, V> {
 
     /**
      * 节点结构
@@ -55,6 +57,11 @@ public class AVLTree<K extends Comparable<K>, V> {
      */
     private int size;
 
+    /**
+     * compute递归过程中算出的新值，由compute(K, BiFunction)取走后清空
+     */
+    private V computedValue;
+
     public AVLTree() {
         this.root = null;
         this.size = 0;
@@ -66,6 +73,7 @@ public class AVLTree<K extends Comparable<K>, V> {
      * @param key   键
      * @param value 值
      */
+    @Override
     public void add(K key, V value) {
         root = add(root, key, value);
     }
@@ -92,14 +100,21 @@ public class AVLTree<K extends Comparable<K>, V> {
             node.value = value;
         }
 
+        return balance(node);
+    }
+
+    /**
+     * 更新节点高度，失衡时旋转，返回平衡后的根节点
+     *
+     * @param node 节点
+     * @return 节点
+     */
+    private Node balance(Node node) {
         // 更新高度height
         node.height = 1 + Math.max(getHeight(node.left), getHeight(node.right));
 
         // 计算平衡因子
         int balanceFactor = getBalanceFactor(node);
-        if (Math.abs(balanceFactor) > 1) {
-            System.out.println("平衡因子：" + balanceFactor);
-        }
 
         if (balanceFactor > 1 && getBalanceFactor(node.left) >= 0) {
             return rightRotate(node);
@@ -122,6 +137,59 @@ public class AVLTree<K extends Comparable<K>, V> {
         return node;
     }
 
+    /**
+     * 用remappingFunction根据键key和旧值（不存在时为null）计算新值，新值为null时删除该键，只需一次从根到叶的查找
+     *
+     * @param key               键
+     * @param remappingFunction 计算函数
+     * @return 新值
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        root = compute(root, key, remappingFunction);
+        V newValue = computedValue;
+        computedValue = null;
+        return newValue;
+    }
+
+    /**
+     * 在以node为根的AVL树中对键key执行compute，递归算法
+     *
+     * @param node              节点
+     * @param key               键
+     * @param remappingFunction 计算函数
+     * @return 节点
+     */
+    private Node compute(Node node, K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (node == null) {
+            V value = remappingFunction.apply(key, null);
+            computedValue = value;
+            if (value == null) {
+                return null;
+            }
+            size++;
+            return new Node(key, value);
+        }
+
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            node.left = compute(node.left, key, remappingFunction);
+        } else if (cmp > 0) {
+            node.right = compute(node.right, key, remappingFunction);
+        } else {
+            V value = remappingFunction.apply(key, node.value);
+            computedValue = value;
+            if (value != null) {
+                node.value = value;
+                return node;
+            }
+            // 新值为null，在当前子树中删除该节点
+            return remove(node, key);
+        }
+
+        return balance(node);
+    }
+
     /**
      * 对节点y进行向右旋转操作，返回旋转后新的根节点x
      * //        y                              x
@@ -182,6 +250,7 @@ public class AVLTree<K extends Comparable<K>, V> {
      * @param key 键
      * @return 有返回true，否则返回false
      */
+    @Override
     public boolean contains(K key) {
         return getNode(root, key) != null;
     }
@@ -192,17 +261,32 @@ public class AVLTree<K extends Comparable<K>, V> {
      * @param key 键
      * @return 值
      */
+    @Override
     public V get(K key) {
         Node node = getNode(root, key);
         return node == null ? null : node.value;
     }
 
+    /**
+     * 根据键获取节点值，键不存在时返回defaultValue
+     *
+     * @param key          键
+     * @param defaultValue 默认值
+     * @return 值
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        Node node = getNode(root, key);
+        return node == null ? defaultValue : node.value;
+    }
+
     /**
      * 根据键设置新值
      *
      * @param key      键
      * @param newValue 值
      */
+    @Override
     public void set(K key, V newValue) {
         Node node = getNode(root, key);
         if (node == null) {
@@ -247,6 +331,7 @@ public class AVLTree<K extends Comparable<K>, V> {
      * @param key 键
      * @return 值
      */
+    @Override
     public V remove(K key) {
         Node node = getNode(root, key);
         if (node != null) {
@@ -331,6 +416,7 @@ public class AVLTree<K extends Comparable<K>, V> {
      *
      * @return 节点个数
      */
+    @Override
     public int getSize() {
         return size;
     }
@@ -340,6 +426,7 @@ public class AVLTree<K extends Comparable<K>, V> {
      *
      * @return 空返回true，否则返回false
      */
+    @Override
     public boolean isEmpty() {
         return size == 0;
     }
@@ -459,10 +546,7 @@ public class AVLTree<K extends Comparable<K>, V> {
             System.out.println("Total words: " + words.size());
             AVLTree<String, Integer> map = new AVLTree<>();
             for (String word : words) {
-                if (map.contains(word))
-                    map.set(word, map.get(word) + 1);
-                else
-                    map.add(word, 1);
+                map.merge(word, 1, Integer::sum);
             }
 
             System.out.println("Total different words: " + map.getSize());
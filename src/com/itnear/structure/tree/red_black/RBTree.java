@@ -1,15 +1,17 @@
 package com.itnear.structure.tree.red_black;
 
+import com.itnear.structure.map.Map;
 import com.itnear.util.FileOperation;
 
 import java.util.ArrayList;
+import java.util.function.BiFunction;
 
 /**
  * 描述：红黑树
  * 作者：NearJC
  * 时间：2020/02/10
  */
-public class RBTree<K extends Comparable<K>, V> {
+public class RBTree<K extends Comparable<K>, V> implements Map<K, V> {
 
     private static final boolean RED = true;
     private static final boolean BLACK = false;
@@ -57,6 +59,11 @@ public class RBTree<K extends Comparable<K>, V> {
      */
     private int size;
 
+    /**
+     * compute递归过程中算出的新值，由compute(K, BiFunction)取走后清空
+     */
+    private V computedValue;
+
     public RBTree() {
         this.root = null;
         this.size = 0;
@@ -68,6 +75,7 @@ public class RBTree<K extends Comparable<K>, V> {
      * @param key   键
      * @param value 值
      */
+    @Override
     public void add(K key, V value) {
         root = add(root, key, value);
         root.color = BLACK; // 最终根节点为黑色节点
@@ -95,6 +103,16 @@ public class RBTree<K extends Comparable<K>, V> {
             node.value = value;
         }
 
+        return balance(node);
+    }
+
+    /**
+     * 维护红黑树性质：右倾红链接左旋，连续两条左倾红链接右旋，左右都红时颜色翻转
+     *
+     * @param node 节点
+     * @return 维护后的根节点
+     */
+    private Node balance(Node node) {
         if (isRed(node.right) && !isRed(node.left)) {
             node = leftRotate(node);
         }
@@ -108,12 +126,69 @@ public class RBTree<K extends Comparable<K>, V> {
         return node;
     }
 
+    /**
+     * 用remappingFunction根据键key和旧值（不存在时为null）计算新值，新值为null时删除该键，只需一次从根到叶的查找
+     *
+     * @param key               键
+     * @param remappingFunction 计算函数
+     * @return 新值
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        root = compute(root, key, remappingFunction);
+        if (root != null) {
+            root.color = BLACK;
+        }
+        V newValue = computedValue;
+        computedValue = null;
+        return newValue;
+    }
+
+    /**
+     * 在以node为根的红黑树中对键key执行compute，递归算法
+     *
+     * @param node              节点
+     * @param key               键
+     * @param remappingFunction 计算函数
+     * @return 节点
+     */
+    private Node compute(Node node, K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (node == null) {
+            V value = remappingFunction.apply(key, null);
+            computedValue = value;
+            if (value == null) {
+                return null;
+            }
+            size++;
+            return new Node(key, value);
+        }
+
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            node.left = compute(node.left, key, remappingFunction);
+        } else if (cmp > 0) {
+            node.right = compute(node.right, key, remappingFunction);
+        } else {
+            V value = remappingFunction.apply(key, node.value);
+            computedValue = value;
+            if (value != null) {
+                node.value = value;
+                return node;
+            }
+            // 新值为null，在当前子树中删除该节点
+            return remove(node, key);
+        }
+
+        return balance(node);
+    }
+
     /**
      * 从红黑树中删除键为key的节点
      *
      * @param key 键
      * @return 值
      */
+    @Override
     public V remove(K key) {
         Node node = getNode(root, key);
         if (node != null) {
@@ -203,17 +278,32 @@ public class RBTree<K extends Comparable<K>, V> {
      * @param key 键
      * @return 节点值
      */
+    @Override
     public V get(K key) {
         Node node = getNode(root, key);
         return node == null ? null : node.value;
     }
 
+    /**
+     * 根据键key获取节点值，键不存在时返回defaultValue
+     *
+     * @param key          键
+     * @param defaultValue 默认值
+     * @return 节点值
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        Node node = getNode(root, key);
+        return node == null ? defaultValue : node.value;
+    }
+
     /**
      * 根据键key修改值
      *
      * @param key      键
      * @param newValue 新值
      */
+    @Override
     public void set(K key, V newValue) {
         Node node = getNode(root, key);
         if (node == null) {
@@ -228,6 +318,7 @@ public class RBTree<K extends Comparable<K>, V> {
      * @param key 键
      * @return 存在返回true，否则返回false
      */
+    @Override
     public boolean contains(K key) {
         return getNode(root, key) != null;
     }
@@ -237,6 +328,7 @@ public class RBTree<K extends Comparable<K>, V> {
      *
      * @return 元素个数
      */
+    @Override
     public int getSize() {
         return size;
     }
@@ -246,6 +338,7 @@ public class RBTree<K extends Comparable<K>, V> {
      *
      * @return 为空返回true，否则返回false
      */
+    @Override
     public boolean isEmpty() {
         return size == 0;
     }
@@ -343,10 +436,7 @@ public class RBTree<K extends Comparable<K>, V> {
 
             RBTree<String, Integer> map = new RBTree<>();
             for (String word : words) {
-                if (map.contains(word))
-                    map.set(word, map.get(word) + 1);
-                else
-                    map.add(word, 1);
+                map.merge(word, 1, Integer::sum);
             }
 
             System.out.println("Total different words: " + map.getSize());
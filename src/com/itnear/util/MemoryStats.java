@@ -0,0 +1,70 @@
+package com.itnear.util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * 描述：各数据结构性能测试共用的内存与GC统计
+ * 作者：NearJC
+ * 时间：2020/02/24
+ */
+public class MemoryStats {
+
+    private MemoryStats() {
+    }
+
+    /**
+     * 累计GC次数与耗时（毫秒）
+     *
+     * @return 依次为次数、耗时
+     */
+    public static long[] gcStats() {
+        long count = 0, time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, time};
+    }
+
+    /**
+     * 多次GC后的已用堆内存
+     *
+     * @return 字节数
+     */
+    public static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * 重置各堆内存池的峰值
+     */
+    public static void resetPeakUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * 各堆内存池峰值之和，近似峰值堆占用
+     *
+     * @return 字节数
+     */
+    public static long peakUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}